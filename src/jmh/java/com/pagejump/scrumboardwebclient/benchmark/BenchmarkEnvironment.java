@@ -0,0 +1,94 @@
+package com.pagejump.scrumboardwebclient.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pagejump.scrumboardwebclient.ScrumboardWebclientApplication;
+import com.pagejump.scrumboardwebclient.model.Task;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process stub of the task API plus a client application context pointing at it.
+ * Responses are serialized once up front, so the stub spends as little time as possible per request.
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+    static final String TASKS_PATH = "/api/v1/tasks";
+
+    private final MockWebServer stubServer = new MockWebServer();
+    private final ConfigurableApplicationContext context;
+    private final List<Task> tasks;
+
+    BenchmarkEnvironment(int taskCount, String... properties) throws IOException {
+        final var objectMapper = new ObjectMapper();
+        this.tasks = generateTasks(taskCount);
+        final byte[] taskListJson = objectMapper.writeValueAsBytes(tasks);
+        final byte[] taskJson = objectMapper.writeValueAsBytes(tasks.get(0));
+
+        stubServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                final var path = request.getPath() == null ? "" : request.getPath();
+                final boolean isCollection = path.equals(TASKS_PATH) || path.startsWith(TASKS_PATH + "?");
+                return switch (request.getMethod()) {
+                    case "GET" -> json(isCollection ? taskListJson : taskJson);
+                    case "POST" -> json(taskJson).setResponseCode(201);
+                    case "PUT", "PATCH" -> json(taskJson);
+                    case "DELETE" -> new MockResponse().setResponseCode(200);
+                    default -> new MockResponse().setResponseCode(405);
+                };
+            }
+        });
+        stubServer.start();
+
+        final var clientProperties = new ArrayList<String>(List.of(
+                "scrumboard.client.base-url=" + stubServer.url(TASKS_PATH),
+                "spring.main.banner-mode=off",
+                "logging.level.root=warn"));
+        clientProperties.addAll(List.of(properties));
+
+        // As command line arguments, since default properties would lose to application.properties.
+        this.context = new SpringApplicationBuilder(ScrumboardWebclientApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(clientProperties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    List<Task> tasks() {
+        return tasks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        stubServer.shutdown();
+    }
+
+    private static MockResponse json(byte[] body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(new Buffer().write(body));
+    }
+
+    private static List<Task> generateTasks(int taskCount) {
+        final var generated = new ArrayList<Task>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            generated.add(new Task(UUID.randomUUID().toString(), "Task " + i,
+                    "Description of benchmark task number " + i, i % 3 == 0 ? "DONE" : "TODO", i % 10 == 0,
+                    "2023-03-01T10:00:00", "2023-03-01T10:00:00"));
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,45 @@
+package com.pagejump.scrumboardwebclient.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs one batch of the same call with a number of calls in flight at once, which is where the blocking and the
+ * reactive service differ: blocking calls take one thread each, reactive calls are merged subscriptions and only
+ * the benchmark thread waits, once for the whole batch.
+ */
+final class InFlightCalls implements AutoCloseable {
+    private final int inFlight;
+    private final ExecutorService threads;
+
+    InFlightCalls(int inFlight) {
+        this.inFlight = inFlight;
+        this.threads = Executors.newFixedThreadPool(inFlight);
+    }
+
+    <T> void blocking(Callable<T> call, Blackhole blackhole) throws Exception {
+        final List<Future<T>> results = threads.invokeAll(Collections.nCopies(inFlight, call));
+        for (Future<T> result : results) blackhole.consume(result.get());
+    }
+
+    <T> void reactive(Supplier<? extends Publisher<T>> call, Blackhole blackhole) {
+        Flux.range(0, inFlight)
+                .flatMap(i -> call.get(), inFlight)
+                .doOnNext(blackhole::consume)
+                .blockLast();
+    }
+
+    @Override
+    public void close() {
+        threads.shutdownNow();
+    }
+}
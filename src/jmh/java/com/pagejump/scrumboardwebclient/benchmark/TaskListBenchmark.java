@@ -0,0 +1,59 @@
+package com.pagejump.scrumboardwebclient.benchmark;
+
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads the whole board for growing board sizes, through the blocking and the reactive service, with inFlight
+ * downloads at once. A score is for one batch of inFlight downloads.
+ * Run with: ./mvnw -P benchmark test-compile exec:exec -Djmh.args=TaskListBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int taskCount;
+
+    @Param({"1", "8"})
+    private int inFlight;
+
+    private BenchmarkEnvironment environment;
+    private InFlightCalls calls;
+    private ScrumBoardService scrumBoardService;
+    private ReactiveScrumBoardService reactiveScrumBoardService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Coalescing would let concurrent downloads share one.
+        environment = new BenchmarkEnvironment(taskCount, "scrumboard.client.coalesce-reads=false");
+        calls = new InFlightCalls(inFlight);
+        scrumBoardService = environment.bean(ScrumBoardService.class);
+        reactiveScrumBoardService = environment.bean(ReactiveScrumBoardService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        calls.close();
+        environment.close();
+    }
+
+    @Benchmark
+    public void getAllTasksBlocking(Blackhole blackhole) throws Exception {
+        calls.blocking(scrumBoardService::getAllTasks, blackhole);
+    }
+
+    @Benchmark
+    public void getAllTasksReactiveStreaming(Blackhole blackhole) {
+        calls.reactive(() -> reactiveScrumBoardService.getAllTasks().count(), blackhole);
+    }
+}
@@ -0,0 +1,93 @@
+package com.pagejump.scrumboardwebclient.benchmark;
+
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-task calls of the blocking and the reactive service against the stub server, with inFlight calls at once.
+ * A score is for one batch of inFlight calls, so the calls per millisecond are the throughput times inFlight.
+ * Run with: ./mvnw -P benchmark test-compile exec:exec -Djmh.args=TaskOperationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TaskOperationBenchmark {
+    private static final TaskRequestDTO TASK_REQUEST = new TaskRequestDTO(
+            "Benchmark Title", "Benchmark Description", "TODO");
+
+    @Param({"1", "16", "64"})
+    private int inFlight;
+
+    private BenchmarkEnvironment environment;
+    private InFlightCalls calls;
+    private ScrumBoardService scrumBoardService;
+    private ReactiveScrumBoardService reactiveScrumBoardService;
+    private String taskId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment(1, "scrumboard.client.coalesce-reads=false");
+        calls = new InFlightCalls(inFlight);
+        scrumBoardService = environment.bean(ScrumBoardService.class);
+        reactiveScrumBoardService = environment.bean(ReactiveScrumBoardService.class);
+        taskId = environment.tasks().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        calls.close();
+        environment.close();
+    }
+
+    @Benchmark
+    public void getTaskByIdBlocking(Blackhole blackhole) throws Exception {
+        calls.blocking(() -> scrumBoardService.getTaskById(taskId), blackhole);
+    }
+
+    @Benchmark
+    public void getTaskByIdReactive(Blackhole blackhole) {
+        calls.reactive(() -> reactiveScrumBoardService.getTaskById(taskId), blackhole);
+    }
+
+    @Benchmark
+    public void createTaskBlocking(Blackhole blackhole) throws Exception {
+        calls.blocking(() -> scrumBoardService.createTask(TASK_REQUEST), blackhole);
+    }
+
+    @Benchmark
+    public void createTaskReactive(Blackhole blackhole) {
+        calls.reactive(() -> reactiveScrumBoardService.createTask(TASK_REQUEST), blackhole);
+    }
+
+    @Benchmark
+    public void updateTaskBlocking(Blackhole blackhole) throws Exception {
+        calls.blocking(() -> scrumBoardService.updateTask(taskId, TASK_REQUEST), blackhole);
+    }
+
+    @Benchmark
+    public void updateTaskReactive(Blackhole blackhole) {
+        calls.reactive(() -> reactiveScrumBoardService.updateTask(taskId, TASK_REQUEST), blackhole);
+    }
+
+    @Benchmark
+    public void deleteTaskBlocking(Blackhole blackhole) throws Exception {
+        calls.blocking(() -> {
+            scrumBoardService.deleteTask(taskId);
+            return taskId;
+        }, blackhole);
+    }
+
+    @Benchmark
+    public void deleteTaskReactive(Blackhole blackhole) {
+        calls.reactive(() -> reactiveScrumBoardService.deleteTask(taskId).thenReturn(taskId), blackhole);
+    }
+}
@@ -0,0 +1,217 @@
+package com.pagejump.scrumboardwebclient.cache;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.model.Task;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, least recently used cache of tasks keyed by their id.
+ * Keeps the validators (ETag and Last-Modified) needed to revalidate an entry with a conditional GET.
+ * Tasks are copied in and out, so a caller changing its task does not change the cached one.
+ * A download stores its task only if the id was not invalidated since the download began, see {@link #generation}.
+ */
+@Component
+@Slf4j
+public class TaskCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long maxAgeNanos;
+    private final Map<String, Entry> entries;
+    // Bumped by invalidate for the ids hashing to each stripe. Guarded by entries, like the entries themselves.
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TaskCache(ScrumBoardClientProperties properties, MeterRegistry meterRegistry) {
+        final var cache = properties.getCache();
+        this.enabled = cache.isEnabled();
+        this.maxSize = cache.getMaxSize();
+        this.ttlNanos = cache.getTtl().toNanos();
+        this.maxAgeNanos = cache.getTtl().plus(cache.getMaxStale()).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxSize) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+
+        FunctionCounter.builder("scrumboard.client.cache.hits", hits, LongAdder::sum)
+                .description("getTaskById calls answered from the cache, including 304 revalidations")
+                .register(meterRegistry);
+        FunctionCounter.builder("scrumboard.client.cache.misses", misses, LongAdder::sum)
+                .description("getTaskById calls that downloaded the task")
+                .register(meterRegistry);
+        FunctionCounter.builder("scrumboard.client.cache.revalidations", revalidations, LongAdder::sum)
+                .description("Conditional GETs answered with 304 Not Modified")
+                .register(meterRegistry);
+        FunctionCounter.builder("scrumboard.client.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries removed because of the size or age limit")
+                .register(meterRegistry);
+        Gauge.builder("scrumboard.client.cache.size", this, TaskCache::size)
+                .register(meterRegistry);
+
+        if (enabled) log.info("Caching up to {} tasks for {}", maxSize, cache.getTtl());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Returns the entry of the task, or null when it is not cached or too old to revalidate.
+     */
+    public Entry lookup(String taskId) {
+        synchronized (entries) {
+            final var entry = entries.get(taskId);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.storedAt > maxAgeNanos) {
+                entries.remove(taskId);
+                evictions.increment();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Read before sending a GET and passed back to {@link #store} or {@link #revalidated}, so that an answer sent
+     * before a mutation of the task was invalidated is not cached after the invalidation.
+     * Ids sharing a stripe may skip a store they could have made, never the other way round.
+     */
+    public long generation(String taskId) {
+        synchronized (entries) {
+            return generations[stripe(taskId)];
+        }
+    }
+
+    /**
+     * Stores a downloaded task. The Last-Modified header is preferred, otherwise the updateTime of the task is used.
+     *
+     * @param lastModified which is the Last-Modified header in epoch millis, or a negative number when absent.
+     * @param generation which is {@link #generation} read before the download began.
+     */
+    public void store(String taskId, Task task, String eTag, long lastModified, long generation) {
+        final var validatorMillis = lastModified >= 0 ? lastModified : parseUpdateTime(task.getUpdateTime());
+        put(taskId, new Entry(task.copy(), eTag, validatorMillis, System.nanoTime()), generation);
+    }
+
+    /**
+     * Restarts the TTL of an entry after the server answered 304 Not Modified.
+     *
+     * @param generation which is {@link #generation} read before the conditional GET was sent.
+     * @return Returns a copy of the cached task.
+     */
+    public Task revalidated(String taskId, Entry entry, long generation) {
+        revalidations.increment();
+        hits.increment();
+        put(taskId, new Entry(entry.task, entry.eTag, entry.lastModified, System.nanoTime()), generation);
+        return entry.task.copy();
+    }
+
+    public void invalidate(String taskId) {
+        if (!enabled) return;
+        synchronized (entries) {
+            generations[stripe(taskId)]++;
+            entries.remove(taskId);
+        }
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void put(String taskId, Entry entry, long generation) {
+        synchronized (entries) {
+            if (generations[stripe(taskId)] != generation) return;
+            entries.put(taskId, entry);
+        }
+    }
+
+    private static int stripe(String taskId) {
+        return (taskId.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private static long parseUpdateTime(String updateTime) {
+        if (updateTime == null) return -1;
+        try {
+            return LocalDateTime.parse(updateTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    @Getter
+    public class Entry {
+        @Getter(AccessLevel.NONE)
+        private final Task task;
+        private final String eTag;
+        // Epoch millis for If-Modified-Since, negative when unknown.
+        private final long lastModified;
+        private final long storedAt;
+
+        private Entry(Task task, String eTag, long lastModified, long storedAt) {
+            this.task = task;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+        }
+
+        /**
+         * @return Returns a copy of the cached task.
+         */
+        public Task getTask() {
+            return task.copy();
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - storedAt <= ttlNanos;
+        }
+    }
+}
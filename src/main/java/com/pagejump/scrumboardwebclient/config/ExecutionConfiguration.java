@@ -0,0 +1,41 @@
+package com.pagejump.scrumboardwebclient.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@SpringBootConfiguration
+@Slf4j
+@RequiredArgsConstructor
+public class ExecutionConfiguration {
+    private final ScrumBoardClientProperties properties;
+
+    /*
+     * The virtual thread executor is looked up reflectively, so the project still compiles and runs on a JDK where
+     * virtual threads are a disabled preview feature.
+     * Reference: https://openjdk.org/jeps/425
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService scrumBoardExecutor() {
+        final var execution = properties.getExecution();
+        if (execution.getMode() == ScrumBoardClientProperties.ExecutionMode.VIRTUAL) {
+            try {
+                final var executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info("Running blocking Scrum Board calls on virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available on Java {}, using {} platform threads",
+                        Runtime.version().feature(), execution.getPlatformThreads());
+            }
+        }
+
+        return Executors.newFixedThreadPool(execution.getPlatformThreads(), new CustomizableThreadFactory("scrumboard-"));
+    }
+}
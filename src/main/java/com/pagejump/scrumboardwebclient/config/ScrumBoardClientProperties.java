@@ -0,0 +1,309 @@
+package com.pagejump.scrumboardwebclient.config;
+
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of the WebClient that calls the SCRUM Board Server Application.
+ * Bound from the {@code scrumboard.client.*} entries of application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "scrumboard.client")
+public class ScrumBoardClientProperties {
+
+    private String baseUrl = "http://localhost:8080/api/v1/tasks";
+    // Optional replicas of the server. When empty only the base URL is used.
+    private List<String> backendUrls = new ArrayList<>();
+    // Connections are pooled and shared by every operation, so the connect timeout cannot vary per operation.
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Timeouts timeouts = new Timeouts(Duration.ofSeconds(3), Duration.ofSeconds(3), Duration.ofSeconds(3));
+    private Map<ScrumBoardOperation, Timeouts> operations = new EnumMap<>(ScrumBoardOperation.class);
+    // Concurrent identical reads (getTaskById of one id, getAllTasks) share a single call when enabled.
+    private boolean coalesceReads = true;
+    private Pool pool = new Pool();
+    private Cache cache = new Cache();
+    private Bulk bulk = new Bulk();
+    private Resilience resilience = new Resilience();
+    private Hedging hedging = new Hedging();
+    private Replica replica = new Replica();
+    private Codec codec = new Codec();
+    private Http http = new Http();
+    private Execution execution = new Execution();
+    private LoadBalancing loadBalancing = new LoadBalancing();
+    private Outbox outbox = new Outbox();
+    private Limiter limiter = new Limiter();
+    private Search search = new Search();
+
+    /**
+     * @return Returns the backend URLs, or only the base URL when none are configured.
+     */
+    public List<String> resolvedBackendUrls() {
+        return backendUrls.isEmpty() ? List.of(baseUrl) : List.copyOf(backendUrls);
+    }
+
+    /**
+     * Resolves the timeouts of an operation. Anything not set for the operation falls back to {@link #timeouts}.
+     *
+     * @param operation which may be null for calls made outside the services.
+     * @return Returns timeouts with every value set.
+     */
+    public Timeouts timeoutsFor(ScrumBoardOperation operation) {
+        final var specific = operation == null ? null : operations.get(operation);
+        if (specific == null) return timeouts;
+
+        return new Timeouts(
+                specific.getResponse() != null ? specific.getResponse() : timeouts.getResponse(),
+                specific.getRead() != null ? specific.getRead() : timeouts.getRead(),
+                specific.getWrite() != null ? specific.getWrite() : timeouts.getWrite()
+        );
+    }
+
+    /**
+     * Response timeout is the longest wait between reads of one response.
+     * Read and write timeouts are the longest idle time of the connection while the call is running.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Timeouts {
+        private Duration response;
+        private Duration read;
+        private Duration write;
+    }
+
+    /**
+     * Connection pool shared by every call made through the WebClient.
+     */
+    @Data
+    public static class Pool {
+        private String name = "scrumboard";
+        private int maxConnections = 50;
+        // -1 means the pending-acquire queue is unbounded.
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private LeasingStrategy leasingStrategy = LeasingStrategy.FIFO;
+        private boolean metricsEnabled = true;
+    }
+
+    /**
+     * Read-through cache of getTaskById. A cached task is served without a call while it is younger than the TTL.
+     * After that it is revalidated with a conditional GET until it is older than TTL plus max-stale, then evicted.
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = false;
+        private int maxSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(5);
+        private Duration maxStale = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Limits of createTasks, updateTasks and deleteTasks.
+     */
+    @Data
+    public static class Bulk {
+        // Items in flight at once. Keep it at or below the pool's max connections.
+        private int concurrency = 16;
+        // Items started per second, 0 means no rate limit.
+        private int ratePerSecond = 0;
+        // Relative path of a server endpoint that creates a JSON array of tasks at once, e.g. /batch. Unused when empty.
+        private String batchCreatePath;
+        private int batchSize = 100;
+    }
+
+    /**
+     * Retries, circuit breaker and bulkheads around the calls to the server.
+     * Only GET and PUT are retried, and only on 5xx responses, timeouts and connection errors.
+     */
+    @Data
+    public static class Resilience {
+        private boolean enabled = true;
+        private Retry retry = new Retry();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        // Concurrent calls allowed per operation. Calls over the limit fail at once with BulkheadFullException.
+        private int maxConcurrentCalls = 100;
+
+        @Data
+        public static class Retry {
+            // Retries after the first attempt.
+            private int maxRetries = 2;
+            private Duration minBackoff = Duration.ofMillis(100);
+            private Duration maxBackoff = Duration.ofSeconds(1);
+            private double jitter = 0.5;
+        }
+
+        @Data
+        public static class CircuitBreaker {
+            private float failureRateThreshold = 50;
+            private Duration slowCallDuration = Duration.ofSeconds(2);
+            private float slowCallRateThreshold = 80;
+            private int slidingWindowSize = 50;
+            private int minimumNumberOfCalls = 20;
+            private Duration waitInOpenState = Duration.ofSeconds(10);
+            private int permittedCallsInHalfOpenState = 5;
+        }
+    }
+
+    /**
+     * Hedged getTaskById: when the first request is slower than the delay a second one is sent, preferably to
+     * another backend URL, and the first answer wins.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private Duration delay = Duration.ofMillis(50);
+        // Use the observed p95 of the getTaskById server requests as the delay once there is one, never going
+        // below min-delay. Cache hits are not part of it.
+        private boolean useObservedP95 = true;
+        private Duration minDelay = Duration.ofMillis(10);
+        // Hedges may add at most this percentage of extra requests.
+        private double maxHedgePercent = 5;
+    }
+
+    /**
+     * Local copy of the board kept current with listings of the recently updated tasks.
+     */
+    @Data
+    public static class Replica {
+        private boolean enabled = false;
+        private Duration refreshInterval = Duration.ofSeconds(5);
+        private int pageSize = 500;
+        // Only for servers that filter listings on updatedSince and includeDeleted. Otherwise every refresh is a
+        // full load, since an ignored filter returns the whole board anyway.
+        private boolean incremental = false;
+        // Incremental replicas still list the whole board this often, to drop tasks removed without a deleted flag.
+        private Duration fullLoadInterval = Duration.ofMinutes(10);
+        // Changes are asked for from this long before the newest updateTime seen, for clock skew between writers.
+        private Duration overlap = Duration.ofSeconds(2);
+        // How long deleted ids are remembered so that late updates do not bring them back.
+        private Duration tombstoneRetention = Duration.ofMinutes(10);
+        // Binary copy of the board, loaded at startup so that only the changes since have to be fetched.
+        // Empty disables snapshots.
+        private String snapshotFile = "";
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+    }
+
+    /**
+     * JSON decoding of the responses.
+     */
+    @Data
+    public static class Codec {
+        // Largest single value (e.g. one Task) buffered while decoding. Streamed lists are not held as a whole.
+        private DataSize maxInMemorySize = DataSize.ofMegabytes(1);
+        // Registers the Jackson Blackbird module, which replaces reflection with generated accessors.
+        private boolean blackbird = true;
+    }
+
+    /**
+     * Wire protocol of the connector. H2C is HTTP/2 over plain TCP, for internal networks. H2 needs TLS.
+     * With HTTP/2 many calls share a connection, at most max-concurrent-streams each.
+     */
+    @Data
+    public static class Http {
+        // Sends Accept-Encoding: gzip, deflate and decompresses the responses.
+        private boolean compression = true;
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+        private long maxConcurrentStreams = 100;
+
+        public boolean isHttp2() {
+            return protocols.contains(HttpProtocol.H2) || protocols.contains(HttpProtocol.H2C);
+        }
+    }
+
+    /**
+     * Threads that run the blocking calls of the async facade. Virtual threads need Java 21, or Java 19/20 started
+     * with --enable-preview; otherwise platform threads are used.
+     */
+    @Data
+    public static class Execution {
+        private ExecutionMode mode = ExecutionMode.PLATFORM;
+        private int platformThreads = 64;
+    }
+
+    /**
+     * Choice between the backend URLs. A backend with failure-threshold transient failures in a row, or a failed
+     * health check, is left out for ejection-time, but never more than max-ejection-percent of the backends.
+     */
+    @Data
+    public static class LoadBalancing {
+        // Time constant of the moving average of the latency of each backend.
+        private Duration latencyDecay = Duration.ofSeconds(10);
+        private int failureThreshold = 5;
+        private Duration ejectionTime = Duration.ofSeconds(30);
+        private int maxEjectionPercent = 50;
+        // HEAD request on health-check-path, e.g. /actuator/health, in place of the path of each backend URL.
+        // No checks without a path or with a zero interval.
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        private String healthCheckPath = "";
+        private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Write-behind of task mutations through a journal on disk.
+     */
+    @Data
+    public static class Outbox {
+        private boolean enabled = false;
+        private String directory = "outbox";
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+        // Appends are acknowledged after the next flush of the journal to disk, at most this long after the append.
+        private Duration fsyncInterval = Duration.ofMillis(10);
+        private Duration drainInterval = Duration.ofMillis(100);
+        // Tasks sent per drain. Each task has at most one mutation in flight.
+        private int batchSize = 64;
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Adaptive limit on the calls in flight. It grows by one per round of calls while the latency stays within
+     * latency-tolerance times the lowest latency seen for the operation, and shrinks by backoff-ratio when latency
+     * rises or calls fail.
+     */
+    @Data
+    public static class Limiter {
+        private boolean enabled = false;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 100;
+        private double latencyTolerance = 2.0;
+        private double backoffRatio = 0.9;
+        // The lowest latency is forgotten this often, so the limit follows a backend that got slower for good.
+        private Duration minLatencyWindow = Duration.ofMinutes(1);
+        // Calls over the limit wait at most this long, and at most max-queue of them; others fail at once.
+        private int maxQueue = 100;
+        private Duration maxQueueWait = Duration.ofMillis(100);
+    }
+
+    /**
+     * Local full-text index over task titles and descriptions. It is rebuilt from a full listing every
+     * refresh-interval and kept up to date in between by the tasks passing through the services.
+     */
+    @Data
+    public static class Search {
+        private boolean enabled = false;
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        private int pageSize = 500;
+    }
+
+    public enum ExecutionMode {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum LeasingStrategy {
+        FIFO, LIFO
+    }
+}
@@ -1,43 +1,134 @@
 package com.pagejump.scrumboardwebclient.config;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.pagejump.scrumboardwebclient.metrics.ScrumBoardClientMetrics;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
-import reactor.netty.tcp.TcpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @SpringBootConfiguration
 @Slf4j
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ScrumBoardClientProperties.class)
 public class WebClientConfiguration {
-    private static final String BASE_URL = "http://localhost:8080/api/v1/tasks";
-    public static final int TIMEOUT = 3000;
+    private static final String READ_TIMEOUT_HANDLER = "scrumBoardReadTimeout";
+    private static final String WRITE_TIMEOUT_HANDLER = "scrumBoardWriteTimeout";
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final Pattern TASK_ID_SEGMENT = Pattern.compile("/[0-9a-fA-F]{8}-[0-9a-fA-F-]{27}(?=/|$)");
+
+    private final ScrumBoardClientProperties properties;
+
+    // Code from: https://projectreactor.io/docs/netty/release/reference/index.html#connection-pool-timeout
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider scrumBoardConnectionProvider() {
+        final var pool = properties.getPool();
+        final var builder = ConnectionProvider
+                .builder(pool.getName())
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(pool.isMetricsEnabled());
+
+        if (pool.getLeasingStrategy() == ScrumBoardClientProperties.LeasingStrategy.LIFO) builder.lifo();
+        else builder.fifo();
+
+        // Reference: https://projectreactor.io/docs/netty/release/reference/index.html#_http2
+        final var http = properties.getHttp();
+        if (http.isHttp2())
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(http.getMaxConcurrentStreams())
+                    .build());
+
+        log.info("Created the '{}' connection pool with {} max connections ({} leasing)",
+                pool.getName(), pool.getMaxConnections(), pool.getLeasingStrategy());
+
+        return builder.build();
+    }
+
+    // Boot registers Module beans on the shared ObjectMapper, which the WebClient JSON codecs use.
+    // Reference: https://github.com/FasterXML/jackson-modules-base/tree/2.15/blackbird
+    @Bean
+    @ConditionalOnProperty(prefix = "scrumboard.client.codec", name = "blackbird", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
 
     // Code from: https://medium.com/swlh/spring-boot-webclient-cheat-sheet-5be26cfa3e
     // Crossed referenced to: https://www.baeldung.com/spring-5-webclient
+    // Per request timeouts: https://projectreactor.io/docs/netty/release/reference/index.html#timeout-configuration
+    // The Boot managed builder carries the observation (http.client.requests) and trace propagation setup.
     @Bean
-    public WebClient webClientWithTimeout() {
-        final var tcpClient = TcpClient
-                .create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT)
-                .doOnConnected(connection -> {
-                    connection.addHandlerLast(new ReadTimeoutHandler(TIMEOUT, TimeUnit.MILLISECONDS));
-                    connection.addHandlerLast(new WriteTimeoutHandler(TIMEOUT, TimeUnit.MILLISECONDS));
+    public WebClient webClientWithTimeout(ConnectionProvider scrumBoardConnectionProvider,
+                                          WebClient.Builder webClientBuilder,
+                                          ScrumBoardClientMetrics scrumBoardClientMetrics) {
+        final var http = properties.getHttp();
+        var httpClient = HttpClient
+                .create(scrumBoardConnectionProvider)
+                .protocol(http.getProtocols().toArray(HttpProtocol[]::new))
+                .compress(http.isCompression())
+                .metrics(properties.getPool().isMetricsEnabled(), WebClientConfiguration::uriTagValue)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .doOnRequest((request, connection) -> {
+                    // Handlers added here are removed when the connection goes back to the pool.
+                    final var operation = ScrumBoardOperation.from(request.currentContextView());
+                    final var timeouts = properties.timeoutsFor(operation);
+
+                    request.responseTimeout(timeouts.getResponse());
+                    connection.addHandlerLast(READ_TIMEOUT_HANDLER,
+                            new ReadTimeoutHandler(timeouts.getRead().toMillis(), TimeUnit.MILLISECONDS));
+                    connection.addHandlerLast(WRITE_TIMEOUT_HANDLER,
+                            new WriteTimeoutHandler(timeouts.getWrite().toMillis(), TimeUnit.MILLISECONDS));
                 });
 
-        log.info("Adjusted the HTTP Timeout to {} seconds", TimeUnit.MILLISECONDS.toSeconds(TIMEOUT));
-        log.info("Changed the default base URL for WebClient to: {}", BASE_URL);
+        if (http.isCompression())
+            httpClient = httpClient.headers(headers -> headers.set(HttpHeaderNames.ACCEPT_ENCODING, ACCEPT_ENCODING));
+        if (http.getProtocols().contains(HttpProtocol.H2)) httpClient = httpClient.secure();
 
-        return WebClient.builder()
-                .baseUrl(BASE_URL)
-                .clientConnector(new ReactorClientHttpConnector(HttpClient.from(tcpClient)))
+        log.info("Using {} with response compression {}", http.getProtocols(), http.isCompression() ? "on" : "off");
+        log.info("Adjusted the HTTP connect timeout to {} ms and the default timeouts to {}",
+                properties.getConnectTimeout().toMillis(), properties.getTimeouts());
+        properties.getOperations().forEach((operation, timeouts) ->
+                log.info("Timeouts of {} calls: {}", operation, properties.timeoutsFor(operation)));
+        log.info("Changed the default base URL for WebClient to: {}", properties.getBaseUrl());
+
+        // The JSON decoder parses the pooled Netty buffers as they arrive, without copying them into a String first.
+        final var maxInMemorySize = (int) properties.getCodec().getMaxInMemorySize().toBytes();
+        return webClientBuilder
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                .filter(scrumBoardClientMetrics.responseSizeFilter())
                 .build();
     }
+
+    /*
+     * Keeps the Reactor Netty meters at one uri tag per endpoint instead of one per task id.
+     */
+    private static String uriTagValue(String uri) {
+        final int query = uri.indexOf('?');
+        final var path = query < 0 ? uri : uri.substring(0, query);
+        return TASK_ID_SEGMENT.matcher(path).replaceAll("/{taskId}");
+    }
 }
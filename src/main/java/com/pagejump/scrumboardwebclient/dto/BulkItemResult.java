@@ -0,0 +1,28 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a bulk operation.
+ * The error keeps the exception the single-item call would have thrown, e.g. TaskNotFoundException.
+ */
+@Data
+@AllArgsConstructor
+public class BulkItemResult<K, V> {
+    private K key;
+    private V value;
+    private Throwable error;
+
+    public static <K, V> BulkItemResult<K, V> success(K key, V value) {
+        return new BulkItemResult<>(key, value, null);
+    }
+
+    public static <K, V> BulkItemResult<K, V> failure(K key, Throwable error) {
+        return new BulkItemResult<>(key, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Report of a bulk operation with one result per item, in the order the items were given.
+ */
+@Data
+@AllArgsConstructor
+public class BulkResult<K, V> {
+    private List<BulkItemResult<K, V>> items;
+
+    public List<BulkItemResult<K, V>> successes() {
+        return items.stream().filter(BulkItemResult::isSuccess).toList();
+    }
+
+    public List<BulkItemResult<K, V>> failures() {
+        return items.stream().filter(item -> !item.isSuccess()).toList();
+    }
+
+    public boolean allSucceeded() {
+        return items.stream().allMatch(BulkItemResult::isSuccess);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a task listing.
+ * The next cursor is only set when the server pages with cursors instead of page numbers.
+ */
+@Data
+@AllArgsConstructor
+public class TaskPage {
+    private List<Task> items;
+    private int page;
+    private String nextCursor;
+    private boolean lastPage;
+}
@@ -0,0 +1,39 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Fields to change on a task, sent as a PATCH. Fields left null are not sent and keep their value on the server.
+ * The expected ETag and updateTime make the patch conditional: the server refuses it with 412 Precondition Failed
+ * when the task changed since, which the services raise as TaskPreconditionFailedException.
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskPatch {
+    String title;
+    String description;
+    String status;
+    // Sent as If-Match.
+    @JsonIgnore
+    String expectedETag;
+    // Sent as If-Unmodified-Since, which only has a precision of seconds.
+    @JsonIgnore
+    String expectedUpdateTime;
+
+    public static class TaskPatchBuilder {
+
+        /**
+         * Makes the patch apply only while the task is unchanged since it was read.
+         *
+         * @param task which is the Task model as it was read.
+         */
+        public TaskPatchBuilder basedOn(Task task) {
+            return expectedUpdateTime(task.getUpdateTime());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Filters and page of a task listing, sent to the server as query parameters.
+ * The filters are applied again on the client, so a server that ignores some of them still gives the right tasks.
+ * A cursor, when set, is used instead of the page number.
+ */
+@Value
+@Builder(toBuilder = true)
+public class TaskQuery {
+    int page;
+    String cursor;
+    @Builder.Default
+    int size = 100;
+    String status;
+    boolean includeDeleted;
+    LocalDateTime updatedSince;
+
+    /**
+     * @return Returns the query of the page after the given one.
+     */
+    public TaskQuery next(TaskPage current) {
+        if (current.getNextCursor() != null) return toBuilder().cursor(current.getNextCursor()).build();
+        return toBuilder().page(current.getPage() + 1).cursor(null).build();
+    }
+
+    /**
+     * Tasks without a parsable updateTime are kept when filtering on updatedSince.
+     */
+    public boolean matches(Task task) {
+        if (!includeDeleted && task.isDeleted()) return false;
+        if (status != null && !status.equalsIgnoreCase(task.getStatus())) return false;
+        if (updatedSince == null || task.getUpdateTime() == null) return true;
+        try {
+            return !LocalDateTime.parse(task.getUpdateTime()).isBefore(updatedSince);
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.pagejump.scrumboardwebclient.dto;
+
+import com.pagejump.scrumboardwebclient.model.TaskStatus;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Full-text search over the task titles and descriptions. Every word of the text has to match.
+ * With prefix set, the last word also matches longer words, for searching as the user types.
+ */
+@Value
+@Builder
+public class TaskSearchQuery {
+    String text;
+    // Any status when null.
+    TaskStatus status;
+    boolean prefix;
+    @Builder.Default
+    int limit = 20;
+}
@@ -0,0 +1,29 @@
+package com.pagejump.scrumboardwebclient.exception;
+
+public class ConcurrencyLimitExceededException extends RuntimeException{
+    public static final String LIMIT_REACHED = "Too many calls to the server are in flight.";
+
+    public ConcurrencyLimitExceededException() {
+        super();
+    }
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+
+    public ConcurrencyLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ConcurrencyLimitExceededException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ConcurrencyLimitExceededException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public static ConcurrencyLimitExceededException withoutStackTrace(String message) {
+        return new ConcurrencyLimitExceededException(message, null, false, false);
+    }
+}
@@ -21,4 +21,8 @@ public class InvalidTaskRequestException extends RuntimeException{
     protected InvalidTaskRequestException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    public static InvalidTaskRequestException withoutStackTrace(String message) {
+        return new InvalidTaskRequestException(message, null, false, false);
+    }
 }
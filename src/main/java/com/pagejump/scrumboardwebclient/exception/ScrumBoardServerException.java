@@ -0,0 +1,29 @@
+package com.pagejump.scrumboardwebclient.exception;
+
+public class ScrumBoardServerException extends RuntimeException{
+    public static final String NOT_RESPONDING = "Server is not responding.";
+
+    public ScrumBoardServerException() {
+        super();
+    }
+
+    public ScrumBoardServerException(String message) {
+        super(message);
+    }
+
+    public ScrumBoardServerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ScrumBoardServerException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ScrumBoardServerException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public static ScrumBoardServerException withoutStackTrace(String message) {
+        return new ScrumBoardServerException(message, null, false, false);
+    }
+}
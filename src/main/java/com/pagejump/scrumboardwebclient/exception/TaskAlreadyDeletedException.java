@@ -21,4 +21,8 @@ public class TaskAlreadyDeletedException extends RuntimeException{
     protected TaskAlreadyDeletedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    public static TaskAlreadyDeletedException withoutStackTrace(String message) {
+        return new TaskAlreadyDeletedException(message, null, false, false);
+    }
 }
@@ -21,4 +21,8 @@ public class TaskNotFoundException extends RuntimeException{
     protected TaskNotFoundException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    public static TaskNotFoundException withoutStackTrace(String message) {
+        return new TaskNotFoundException(message, null, false, false);
+    }
 }
@@ -0,0 +1,29 @@
+package com.pagejump.scrumboardwebclient.exception;
+
+public class TaskPreconditionFailedException extends RuntimeException{
+    public static final String TASK_CHANGED = "The task was changed since it was read.";
+
+    public TaskPreconditionFailedException() {
+        super();
+    }
+
+    public TaskPreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public TaskPreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public TaskPreconditionFailedException(Throwable cause) {
+        super(cause);
+    }
+
+    protected TaskPreconditionFailedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public static TaskPreconditionFailedException withoutStackTrace(String message) {
+        return new TaskPreconditionFailedException(message, null, false, false);
+    }
+}
@@ -0,0 +1,234 @@
+package com.pagejump.scrumboardwebclient.loadbalancer;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.resilience.ScrumBoardResilience;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Client-side load balancing over {@code scrumboard.client.backend-urls}.
+ * Each call picks two available backends at random and uses the one with the lower
+ * (in-flight calls + 1) * average latency. Backends are ejected after repeated transient failures or a failed
+ * health check and come back when the ejection time is over or a health check succeeds.
+ * Health checks only run once a health-check-path is configured, so that they hit a cheap endpoint and not the
+ * task endpoint. The path replaces the path of each backend URL, e.g. http://host:8080/actuator/health.
+ * Reference: https://www.eecs.harvard.edu/~michaelm/postscripts/mythesis.pdf (power of two choices)
+ */
+@Component
+@Slf4j
+public class BackendLoadBalancer {
+    final private WebClient scrumBoardClient;
+    final private ScrumBoardClientProperties.LoadBalancing loadBalancing;
+    final private List<Backend> backends;
+    private Disposable healthChecks;
+
+    public BackendLoadBalancer(WebClient scrumBoardClient, ScrumBoardClientProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.scrumBoardClient = scrumBoardClient;
+        this.loadBalancing = properties.getLoadBalancing();
+        final long decayNanos = loadBalancing.getLatencyDecay().toNanos();
+        final String healthCheckPath = loadBalancing.getHealthCheckPath();
+        this.backends = properties.resolvedBackendUrls().stream()
+                .map(url -> new Backend(url, healthCheckUrl(url, healthCheckPath), decayNanos))
+                .toList();
+
+        for (Backend backend : backends) {
+            Gauge.builder("scrumboard.client.backend.available", backend, b -> b.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("Whether the backend takes calls (1) or is ejected (0)")
+                    .tag("backend", backend.url)
+                    .register(meterRegistry);
+            Gauge.builder("scrumboard.client.backend.in-flight", backend.inFlight, AtomicInteger::get)
+                    .tag("backend", backend.url)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (backends.size() < 2 || loadBalancing.getHealthCheckInterval().isZero()
+                || !StringUtils.hasText(loadBalancing.getHealthCheckPath())) return;
+
+        healthChecks = Flux.interval(loadBalancing.getHealthCheckInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> Flux.fromIterable(backends).flatMap(this::checkHealth).then(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (healthChecks != null) healthChecks.dispose();
+    }
+
+    /**
+     * Sends the request to the chosen backend. Every subscription, e.g. every retry, chooses again.
+     *
+     * @param request which builds the call for the given backend URL.
+     */
+    public <T> Mono<T> call(Function<String, Mono<T>> request) {
+        return Mono.defer(() -> {
+            final var backend = choose();
+            final long start = backend.started();
+            return request.apply(backend.url)
+                    .doOnSuccess(value -> backend.succeeded(start))
+                    .doOnError(error -> failed(backend, error))
+                    .doFinally(signal -> backend.finished());
+        });
+    }
+
+    /**
+     * Same as {@link #call(Function)} for streamed responses. The latency is the time to the first task.
+     */
+    public <T> Flux<T> stream(Function<String, Flux<T>> request) {
+        return Flux.defer(() -> {
+            final var backend = choose();
+            final long start = backend.started();
+            final var answered = new AtomicBoolean();
+            return request.apply(backend.url)
+                    .doOnNext(value -> {
+                        if (answered.compareAndSet(false, true)) backend.succeeded(start);
+                    })
+                    .doOnComplete(() -> {
+                        if (answered.compareAndSet(false, true)) backend.succeeded(start);
+                    })
+                    .doOnError(error -> failed(backend, error))
+                    .doFinally(signal -> backend.finished());
+        });
+    }
+
+    /*
+     * When every backend is ejected they are all tried anyway, so that calls keep failing fast instead of hanging.
+     */
+    private Backend choose() {
+        if (backends.size() == 1) return backends.get(0);
+
+        final long now = System.nanoTime();
+        List<Backend> candidates = new ArrayList<>(backends.size());
+        for (Backend backend : backends) if (backend.isAvailable(now)) candidates.add(backend);
+        if (candidates.isEmpty()) candidates = backends;
+        if (candidates.size() == 1) return candidates.get(0);
+
+        final var random = ThreadLocalRandom.current();
+        final int first = random.nextInt(candidates.size());
+        final int second = (first + 1 + random.nextInt(candidates.size() - 1)) % candidates.size();
+        final var a = candidates.get(first);
+        final var b = candidates.get(second);
+        return a.score() <= b.score() ? a : b;
+    }
+
+    private void failed(Backend backend, Throwable error) {
+        if (!ScrumBoardResilience.isTransient(error)) {
+            backend.consecutiveFailures.set(0);
+            return;
+        }
+        if (backend.consecutiveFailures.incrementAndGet() >= loadBalancing.getFailureThreshold())
+            eject(backend, backend.consecutiveFailures.get() + " failures in a row, last " + error);
+    }
+
+    private Mono<Void> checkHealth(Backend backend) {
+        return scrumBoardClient.head()
+                .uri(backend.healthCheckUrl)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(loadBalancing.getHealthCheckTimeout())
+                .doOnSuccess(response -> readmit(backend))
+                .then()
+                .onErrorResume(error -> {
+                    eject(backend, "failed health check, " + error);
+                    return Mono.empty();
+                });
+    }
+
+    private synchronized void eject(Backend backend, String reason) {
+        final long now = System.nanoTime();
+        if (!backend.isAvailable(now)) return;
+
+        final long ejected = backends.stream().filter(b -> !b.isAvailable(now)).count();
+        if ((ejected + 1) * 100 > (long) loadBalancing.getMaxEjectionPercent() * backends.size()) {
+            log.warn("Not ejecting backend {} ({}), too many backends are ejected already", backend.url, reason);
+            return;
+        }
+
+        backend.ejectedUntil = now + loadBalancing.getEjectionTime().toNanos();
+        backend.consecutiveFailures.set(0);
+        log.warn("Ejected backend {} for {}: {}", backend.url, loadBalancing.getEjectionTime(), reason);
+    }
+
+    private void readmit(Backend backend) {
+        if (backend.isAvailable(System.nanoTime())) return;
+
+        backend.ejectedUntil = 0;
+        backend.consecutiveFailures.set(0);
+        log.info("Readmitted backend {} after a successful health check", backend.url);
+    }
+
+    private static String healthCheckUrl(String url, String path) {
+        if (!StringUtils.hasText(path)) return null;
+        return UriComponentsBuilder.fromHttpUrl(url).replacePath(path).replaceQuery(null).toUriString();
+    }
+
+    private static final class Backend {
+        // Latency assumed for a backend that has not answered yet, so new backends are tried soon.
+        private static final double INITIAL_LATENCY_NANOS = 1_000_000;
+
+        final String url;
+        final String healthCheckUrl;
+        final long decayNanos;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        volatile long ejectedUntil;
+        private double averageLatencyNanos = INITIAL_LATENCY_NANOS;
+        private long lastSampleNanos = System.nanoTime();
+
+        Backend(String url, String healthCheckUrl, long decayNanos) {
+            this.url = url;
+            this.healthCheckUrl = healthCheckUrl;
+            this.decayNanos = decayNanos;
+        }
+
+        boolean isAvailable(long now) {
+            final long until = ejectedUntil;
+            return until == 0 || now - until >= 0;
+        }
+
+        long started() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void finished() {
+            inFlight.decrementAndGet();
+        }
+
+        /*
+         * Time decayed moving average: samples far apart weigh the new sample more.
+         */
+        synchronized void succeeded(long start) {
+            final long now = System.nanoTime();
+            final double weight = 1 - Math.exp(-(double) (now - lastSampleNanos) / decayNanos);
+            averageLatencyNanos += weight * ((now - start) - averageLatencyNanos);
+            lastSampleNanos = now;
+            consecutiveFailures.set(0);
+        }
+
+        synchronized double score() {
+            return (inFlight.get() + 1) * averageLatencyNanos;
+        }
+    }
+}
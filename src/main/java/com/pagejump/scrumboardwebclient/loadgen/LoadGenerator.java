@@ -0,0 +1,230 @@
+package com.pagejump.scrumboardwebclient.loadgen;
+
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardService;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Soak and capacity test of the SCRUM Board Server Application through {@link ScrumBoardService}.
+ * Runs with the loadgen profile: {@code ./mvnw spring-boot:run -Dspring-boot.run.profiles=loadgen}.
+ * Latency is measured from the time a call was scheduled to start, not from when it actually started, so a
+ * stalled server is not hidden by calls that were never sent (coordinated omission).
+ * Reference: http://highscalability.com/blog/2015/10/5/your-load-generator-is-probably-lying-to-you-take-the-red-pi.html
+ */
+@Component
+@Profile("loadgen")
+@Slf4j
+@EnableConfigurationProperties(LoadGeneratorProperties.class)
+public class LoadGenerator implements ApplicationRunner {
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    final private ScrumBoardService scrumBoardService;
+    final private ExecutorService scrumBoardExecutor;
+    final private LoadGeneratorProperties loadgen;
+    final private ConfigurableApplicationContext context;
+
+    final private Map<ScrumBoardOperation, Recorder> latencies = new EnumMap<>(ScrumBoardOperation.class);
+    final private Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    // Ring of known task ids, so that picking a random one costs no copying. A deleted id leaves its slot empty.
+    final private AtomicReferenceArray<String> taskIds;
+    final private AtomicLong taskIdsAdded = new AtomicLong();
+    final private ScrumBoardOperation[] weightedOperations;
+    final private AtomicInteger callsInFlight = new AtomicInteger();
+
+    public LoadGenerator(ScrumBoardService scrumBoardService, ExecutorService scrumBoardExecutor,
+                         LoadGeneratorProperties loadgen, ConfigurableApplicationContext context) {
+        this.scrumBoardService = scrumBoardService;
+        this.scrumBoardExecutor = scrumBoardExecutor;
+        this.loadgen = loadgen;
+        this.context = context;
+
+        final List<ScrumBoardOperation> operations = new ArrayList<>();
+        loadgen.getMix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) operations.add(operation);
+        });
+        if (operations.isEmpty()) throw new IllegalArgumentException("scrumboard.loadgen.mix has no positive weight.");
+        this.weightedOperations = operations.toArray(ScrumBoardOperation[]::new);
+        this.taskIds = new AtomicReferenceArray<>(loadgen.getTaskIdCapacity());
+
+        for (ScrumBoardOperation operation : ScrumBoardOperation.values())
+            latencies.put(operation, new Recorder(HIGHEST_LATENCY_NANOS, 3));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        scrumBoardService.getTaskPage(TaskQuery.builder().size(loadgen.getListPageSize()).build())
+                .getItems()
+                .forEach(task -> addTaskId(task.getId()));
+
+        final long start = System.nanoTime();
+        final long measureFrom = start + loadgen.getWarmup().toNanos();
+        final long end = measureFrom + loadgen.getDuration().toNanos();
+        log.info("Load generation for {} after a {} warmup, {}", loadgen.getDuration(), loadgen.getWarmup(),
+                loadgen.getConcurrency() > 0
+                        ? loadgen.getConcurrency() + " concurrent callers"
+                        : loadgen.getRatePerSecond() + " calls per second");
+
+        if (loadgen.getConcurrency() > 0) runClosedLoop(start, measureFrom, end);
+        else runOpenLoop(start, measureFrom, end);
+
+        report();
+        if (loadgen.isExitWhenDone()) System.exit(SpringApplication.exit(context));
+    }
+
+    /*
+     * Calls are handed to the executor at their scheduled time. When the executor or the server falls behind,
+     * the wait in the queue is part of the recorded latency.
+     */
+    private void runOpenLoop(long start, long measureFrom, long end) throws InterruptedException {
+        final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / loadgen.getRatePerSecond());
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            sleepUntil(scheduled);
+            final long intended = scheduled;
+            callsInFlight.incrementAndGet();
+            scrumBoardExecutor.execute(() -> {
+                try {
+                    call(intended, intended >= measureFrom);
+                } finally {
+                    callsInFlight.decrementAndGet();
+                }
+            });
+        }
+        awaitCallsInFlight();
+    }
+
+    private void runClosedLoop(long start, long measureFrom, long end) throws InterruptedException {
+        final long interval = loadgen.getRatePerSecond() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) * loadgen.getConcurrency() / loadgen.getRatePerSecond())
+                : 0;
+        final var callers = new ArrayList<Thread>();
+        for (int i = 0; i < loadgen.getConcurrency(); i++) {
+            final var caller = new Thread(() -> {
+                long scheduled = start;
+                while (scheduled < end) {
+                    sleepUntil(scheduled);
+                    final long intended = interval > 0 ? scheduled : System.nanoTime();
+                    call(intended, intended >= measureFrom);
+                    scheduled = interval > 0 ? scheduled + interval : System.nanoTime();
+                }
+            }, "loadgen-" + i);
+            caller.start();
+            callers.add(caller);
+        }
+        for (Thread caller : callers) caller.join();
+    }
+
+    private void call(long intended, boolean measured) {
+        var operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        final String taskId = switch (operation) {
+            case GET, UPDATE, PATCH -> randomTaskId(false);
+            case DELETE -> randomTaskId(true);
+            default -> null;
+        };
+        if (taskId == null && operation != ScrumBoardOperation.LIST) operation = ScrumBoardOperation.CREATE;
+
+        try {
+            switch (operation) {
+                case LIST -> scrumBoardService.getTaskPage(TaskQuery.builder().size(loadgen.getListPageSize()).build());
+                case GET -> scrumBoardService.findTaskById(taskId);
+                case CREATE -> {
+                    Task task = scrumBoardService.createTask(
+                            new TaskRequestDTO("Load test", "Created by the load generator", "TODO"));
+                    addTaskId(task.getId());
+                }
+                case UPDATE -> scrumBoardService.updateTask(taskId,
+                        new TaskRequestDTO("Load test", "Updated by the load generator", "DONE"));
+                case PATCH -> scrumBoardService.updateStatus(taskId, "IN_PROGRESS");
+                case DELETE -> scrumBoardService.deleteTask(taskId);
+            }
+        } catch (RuntimeException e) {
+            if (measured) errors.computeIfAbsent(operation + " " + e.getClass().getSimpleName(), key -> new LongAdder())
+                    .increment();
+        }
+
+        if (measured)
+            latencies.get(operation).recordValue(Math.min(System.nanoTime() - intended, HIGHEST_LATENCY_NANOS));
+    }
+
+    private void addTaskId(String taskId) {
+        taskIds.set((int) (taskIdsAdded.getAndIncrement() % taskIds.length()), taskId);
+    }
+
+    /**
+     * @param take which empties the slot, so that a deleted task is not picked again.
+     * @return Returns the id in a random slot, or null when there is none yet or the slot is empty.
+     */
+    private String randomTaskId(boolean take) {
+        final int filled = (int) Math.min(taskIdsAdded.get(), taskIds.length());
+        if (filled == 0) return null;
+
+        final int slot = ThreadLocalRandom.current().nextInt(filled);
+        return take ? taskIds.getAndSet(slot, null) : taskIds.get(slot);
+    }
+
+    private void report() {
+        final var total = new Histogram(HIGHEST_LATENCY_NANOS, 3);
+        final double seconds = loadgen.getDuration().toNanos() / 1e9;
+
+        log.info(String.format("%-7s %10s %9s %9s %9s %9s %9s %9s", "op", "calls", "calls/s", "p50 ms", "p90 ms",
+                "p99 ms", "p99.9 ms", "max ms"));
+        latencies.forEach((operation, recorder) -> {
+            final var histogram = recorder.getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) return;
+            total.add(histogram);
+            log.info(row(operation.name(), histogram, seconds));
+        });
+        if (total.getTotalCount() > 0) log.info(row("ALL", total, seconds));
+
+        if (errors.isEmpty()) log.info("No errors");
+        else errors.forEach((error, count) -> log.info("Errors {}: {}", error, count.sum()));
+    }
+
+    private static String row(String name, Histogram histogram, double seconds) {
+        return String.format("%-7s %10d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) LockSupport.parkNanos(remaining);
+    }
+
+    private void awaitCallsInFlight() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (callsInFlight.get() > 0 && System.nanoTime() < deadline) TimeUnit.MILLISECONDS.sleep(10);
+        if (callsInFlight.get() > 0) log.warn("{} calls still running are not reported", callsInFlight.get());
+    }
+}
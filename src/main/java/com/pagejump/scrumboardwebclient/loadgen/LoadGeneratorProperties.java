@@ -0,0 +1,34 @@
+package com.pagejump.scrumboardwebclient.loadgen;
+
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of the load generator, bound from {@code scrumboard.loadgen.*}.
+ * With concurrency 0 calls are started at rate-per-second whatever the latency (open loop).
+ * Otherwise that many callers run back to back, each paced at rate-per-second / concurrency when the rate is set.
+ */
+@Data
+@ConfigurationProperties(prefix = "scrumboard.loadgen")
+public class LoadGeneratorProperties {
+    private double ratePerSecond = 100;
+    private int concurrency = 0;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    // Relative weights of the operations. LIST reads one page of list-page-size tasks.
+    private Map<ScrumBoardOperation, Integer> mix = new EnumMap<>(Map.of(
+            ScrumBoardOperation.GET, 60,
+            ScrumBoardOperation.LIST, 5,
+            ScrumBoardOperation.CREATE, 15,
+            ScrumBoardOperation.UPDATE, 15,
+            ScrumBoardOperation.DELETE, 5));
+    private int listPageSize = 100;
+    // Task ids kept for GET, UPDATE and DELETE. Past it, a created task takes the slot of the oldest id.
+    private int taskIdCapacity = 10_000;
+    private boolean exitWhenDone = true;
+}
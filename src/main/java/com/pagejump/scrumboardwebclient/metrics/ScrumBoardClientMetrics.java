@@ -0,0 +1,139 @@
+package com.pagejump.scrumboardwebclient.metrics;
+
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation of the calls made by the services.
+ * <ul>
+ *     <li>{@code scrumboard.client.requests}: timer per operation and outcome, with p50/p95/p99.</li>
+ *     <li>{@code scrumboard.client.requests.active}: calls in flight per operation.</li>
+ *     <li>{@code scrumboard.client.errors}: failed calls per operation and exception type.</li>
+ *     <li>{@code scrumboard.client.response.size}: bytes of response body per operation.</li>
+ * </ul>
+ * Pool acquire and network times come from the Reactor Netty meters (reactor.netty.*), so the difference
+ * with the request timer is mostly JSON decoding.
+ */
+@Component
+public class ScrumBoardClientMetrics {
+    private static final String REQUESTS = "scrumboard.client.requests";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ScrumBoardOperation, Timer> successTimers = new EnumMap<>(ScrumBoardOperation.class);
+    private final Map<ScrumBoardOperation, AtomicInteger> inFlight = new EnumMap<>(ScrumBoardOperation.class);
+    private final Map<ScrumBoardOperation, DistributionSummary> responseSizes = new EnumMap<>(ScrumBoardOperation.class);
+
+    public ScrumBoardClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (ScrumBoardOperation operation : ScrumBoardOperation.values()) {
+            final var tag = tagOf(operation);
+            final var active = new AtomicInteger();
+            inFlight.put(operation, active);
+            successTimers.put(operation, timer(operation, "SUCCESS", "none"));
+            Gauge.builder(REQUESTS + ".active", active, AtomicInteger::get)
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+            responseSizes.put(operation, DistributionSummary.builder("scrumboard.client.response.size")
+                    .baseUnit("bytes")
+                    .tag("operation", tag)
+                    .publishPercentiles(PERCENTILES)
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> Mono<T> timed(ScrumBoardOperation operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            final long start = begin(operation);
+            return call
+                    .doOnSuccess(value -> end(operation, start, "SUCCESS", null))
+                    .doOnError(error -> end(operation, start, "ERROR", error))
+                    .doOnCancel(() -> end(operation, start, "CANCELLED", null));
+        });
+    }
+
+    public <T> Flux<T> timed(ScrumBoardOperation operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            final long start = begin(operation);
+            return call
+                    .doOnComplete(() -> end(operation, start, "SUCCESS", null))
+                    .doOnError(error -> end(operation, start, "ERROR", error))
+                    .doOnCancel(() -> end(operation, start, "CANCELLED", null));
+        });
+    }
+
+    /**
+     * Records the body size of every response, read from the operation in the Reactor context.
+     * Counts the bytes as they arrive, so chunked responses without Content-Length are measured too.
+     */
+    public ExchangeFilterFunction responseSizeFilter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            final var operation = ScrumBoardOperation.from(context);
+            if (operation == null) return next.exchange(request);
+
+            return next.exchange(request).map(response -> response.mutate()
+                    .body(body -> {
+                        final long[] size = new long[1];
+                        return body
+                                .doOnNext(buffer -> size[0] += buffer.readableByteCount())
+                                .doOnComplete(() -> responseSizes.get(operation).record(size[0]));
+                    })
+                    .build());
+        });
+    }
+
+    public int inFlight(ScrumBoardOperation operation) {
+        return inFlight.get(operation).get();
+    }
+
+    private long begin(ScrumBoardOperation operation) {
+        inFlight.get(operation).incrementAndGet();
+        return System.nanoTime();
+    }
+
+    private void end(ScrumBoardOperation operation, long start, String outcome, Throwable error) {
+        inFlight.get(operation).decrementAndGet();
+        final long elapsed = System.nanoTime() - start;
+
+        if (error == null && outcome.equals("SUCCESS")) {
+            successTimers.get(operation).record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        final var exception = error == null ? "none" : error.getClass().getSimpleName();
+        timer(operation, outcome, exception).record(elapsed, TimeUnit.NANOSECONDS);
+        if (error != null) {
+            Counter.builder("scrumboard.client.errors")
+                    .tag("operation", tagOf(operation))
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private Timer timer(ScrumBoardOperation operation, String outcome, String exception) {
+        return Timer.builder(REQUESTS)
+                .tag("operation", tagOf(operation))
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private static String tagOf(ScrumBoardOperation operation) {
+        return operation.name().toLowerCase();
+    }
+}
@@ -0,0 +1,45 @@
+package com.pagejump.scrumboardwebclient.model;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Immutable form of {@link Task} with the status and timestamps parsed once, while decoding.
+ */
+@Value
+@Builder
+@Jacksonized
+public class CompactTask {
+    String id;
+    String title;
+    String description;
+    TaskStatus status;
+    boolean deleted;
+    LocalDateTime creationTime;
+    LocalDateTime updateTime;
+
+    public static CompactTask from(Task task) {
+        return CompactTask.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(TaskStatus.of(task.getStatus()))
+                .deleted(task.isDeleted())
+                .creationTime(parse(task.getCreationTime()))
+                .updateTime(parse(task.getUpdateTime()))
+                .build();
+    }
+
+    private static LocalDateTime parse(String time) {
+        if (time == null) return null;
+        try {
+            return LocalDateTime.parse(time);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
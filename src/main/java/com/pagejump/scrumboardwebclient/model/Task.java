@@ -18,4 +18,11 @@ public class Task {
     private boolean deleted;
     private String creationTime;
     private String updateTime;
+
+    /**
+     * @return Returns a new Task with the same fields, for handing a shared task to a caller that may change it.
+     */
+    public Task copy() {
+        return new Task(id, title, description, status, deleted, creationTime, updateTime);
+    }
 }
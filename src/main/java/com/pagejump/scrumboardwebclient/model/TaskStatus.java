@@ -0,0 +1,20 @@
+package com.pagejump.scrumboardwebclient.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Column of a task on the board. Statuses the client does not know become UNKNOWN instead of failing the decode.
+ */
+public enum TaskStatus {
+    TODO, IN_PROGRESS, DONE, UNKNOWN;
+
+    @JsonCreator
+    public static TaskStatus of(String status) {
+        if (status == null) return UNKNOWN;
+        try {
+            return valueOf(status.trim().toUpperCase().replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN;
+        }
+    }
+}
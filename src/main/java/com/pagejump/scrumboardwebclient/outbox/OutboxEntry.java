@@ -0,0 +1,49 @@
+package com.pagejump.scrumboardwebclient.outbox;
+
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Record of the outbox journal.
+ * Mutations are keyed by task id, or by the local id of a task not created on the server yet.
+ * MAPPED links a local id to the id the server gave the task, ACK marks a mutation as done.
+ */
+@Value
+class OutboxEntry {
+    @With
+    long sequence;
+    Type type;
+    String key;
+    TaskRequestDTO request;
+    String serverId;
+    long ackedSequence;
+
+    enum Type {
+        CREATE, UPDATE, DELETE, MAPPED, ACK
+    }
+
+    static OutboxEntry create(String localId, TaskRequestDTO request) {
+        return new OutboxEntry(0, Type.CREATE, localId, request, null, 0);
+    }
+
+    static OutboxEntry update(String taskId, TaskRequestDTO request) {
+        return new OutboxEntry(0, Type.UPDATE, taskId, request, null, 0);
+    }
+
+    static OutboxEntry delete(String taskId) {
+        return new OutboxEntry(0, Type.DELETE, taskId, null, null, 0);
+    }
+
+    static OutboxEntry mapped(String localId, String serverId) {
+        return new OutboxEntry(0, Type.MAPPED, localId, null, serverId, 0);
+    }
+
+    static OutboxEntry ack(long sequence) {
+        return new OutboxEntry(0, Type.ACK, null, null, null, sequence);
+    }
+
+    boolean isMutation() {
+        return type == Type.CREATE || type == Type.UPDATE || type == Type.DELETE;
+    }
+}
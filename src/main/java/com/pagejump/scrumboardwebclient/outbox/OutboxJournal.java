@@ -0,0 +1,246 @@
+package com.pagejump.scrumboardwebclient.outbox;
+
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal made of memory-mapped segment files named after their first sequence.
+ * Each record is framed as [length][crc32][payload]. A zero length marks the end of a segment, and a record whose
+ * checksum does not match is treated as the torn end of the journal.
+ * Appends only write to the mapping. {@link #force()} flushes them to disk, so callers can batch the fsyncs.
+ * Not thread-safe, the outbox serializes access.
+ */
+@Slf4j
+class OutboxJournal implements AutoCloseable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER = 8;
+
+    final private Path directory;
+    final private int segmentSize;
+    // First sequence of each segment to its file.
+    final private TreeMap<Long, Path> segments = new TreeMap<>();
+    final private List<MappedByteBuffer> unflushed = new ArrayList<>();
+    private MappedByteBuffer current;
+    private long nextSequence = 1;
+
+    OutboxJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Reads every record left in the journal and opens the last segment for appending.
+     *
+     * @return Returns the records in sequence order.
+     */
+    List<OutboxEntry> recover() {
+        final List<OutboxEntry> entries = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .forEach(file -> segments.put(firstSequenceOf(file), file));
+            }
+
+            for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+                final var buffer = map(segment.getValue());
+                readSegment(buffer, entries);
+                current = buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the outbox journal in " + directory, e);
+        }
+
+        if (!entries.isEmpty()) nextSequence = entries.get(entries.size() - 1).getSequence() + 1;
+        log.info("Recovered {} outbox records from {} segments", entries.size(), segments.size());
+        return entries;
+    }
+
+    /**
+     * @return Returns the entry with its sequence set.
+     */
+    OutboxEntry append(OutboxEntry entry) {
+        final var sequenced = entry.withSequence(nextSequence);
+        final byte[] payload = encode(sequenced);
+        if (payload.length + 2 * FRAME_HEADER > segmentSize)
+            throw new IllegalArgumentException("Outbox record of " + payload.length + " bytes exceeds the segment size.");
+
+        if (current == null || current.remaining() < payload.length + 2 * FRAME_HEADER) roll();
+
+        final var crc = new CRC32();
+        crc.update(payload);
+        current.putInt(payload.length);
+        current.putInt((int) crc.getValue());
+        current.put(payload);
+        if (unflushed.isEmpty() || unflushed.get(unflushed.size() - 1) != current) unflushed.add(current);
+
+        nextSequence++;
+        return sequenced;
+    }
+
+    /**
+     * Writes the appended records to disk.
+     */
+    void force() {
+        for (MappedByteBuffer buffer : unflushed) buffer.force();
+        unflushed.clear();
+    }
+
+    /**
+     * Deletes the segments that only hold records below the given sequence.
+     */
+    void deleteSegmentsBefore(long sequence) {
+        while (segments.size() > 1) {
+            final var first = segments.firstEntry();
+            final var second = segments.higherKey(first.getKey());
+            if (second > sequence) return;
+
+            segments.pollFirstEntry();
+            try {
+                Files.deleteIfExists(first.getValue());
+            } catch (IOException e) {
+                log.warn("Could not delete outbox segment {}", first.getValue(), e);
+            }
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private void roll() {
+        try {
+            final var file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+            current = map(file);
+            segments.put(nextSequence, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create an outbox segment in " + directory, e);
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (var channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    /*
+     * Leaves the buffer positioned after the last valid record, where the next append goes.
+     */
+    private static void readSegment(MappedByteBuffer buffer, List<OutboxEntry> entries) throws IOException {
+        while (buffer.remaining() >= FRAME_HEADER) {
+            final int start = buffer.position();
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                return;
+            }
+
+            final byte[] payload = new byte[length];
+            buffer.get(payload);
+            final var crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Outbox journal ends with a torn record, it is dropped");
+                buffer.position(start);
+                while (buffer.hasRemaining()) buffer.put((byte) 0);
+                buffer.position(start);
+                return;
+            }
+            entries.add(decode(payload));
+        }
+    }
+
+    private static long firstSequenceOf(Path file) {
+        final var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static byte[] encode(OutboxEntry entry) {
+        final var bytes = new ByteArrayOutputStream(128);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeLong(entry.getSequence());
+            out.writeByte(entry.getType().ordinal());
+            switch (entry.getType()) {
+                case CREATE, UPDATE -> {
+                    out.writeUTF(entry.getKey());
+                    writeNullable(out, entry.getRequest().getTitle());
+                    writeNullable(out, entry.getRequest().getDescription());
+                    writeNullable(out, entry.getRequest().getStatus());
+                }
+                case DELETE -> out.writeUTF(entry.getKey());
+                case MAPPED -> {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getServerId());
+                }
+                case ACK -> out.writeLong(entry.getAckedSequence());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static OutboxEntry decode(byte[] payload) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            final long sequence = in.readLong();
+            final var type = OutboxEntry.Type.values()[in.readByte()];
+            final var entry = switch (type) {
+                case CREATE -> OutboxEntry.create(in.readUTF(), readRequest(in));
+                case UPDATE -> OutboxEntry.update(in.readUTF(), readRequest(in));
+                case DELETE -> OutboxEntry.delete(in.readUTF());
+                case MAPPED -> OutboxEntry.mapped(in.readUTF(), in.readUTF());
+                case ACK -> OutboxEntry.ack(in.readLong());
+            };
+            return entry.withSequence(sequence);
+        }
+    }
+
+    private static TaskRequestDTO readRequest(DataInputStream in) throws IOException {
+        return new TaskRequestDTO(readNullable(in), readNullable(in), readNullable(in));
+    }
+
+    // Length prefixed UTF-8, since writeUTF stops at 64 KB and descriptions can be longer.
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) return null;
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,310 @@
+package com.pagejump.scrumboardwebclient.outbox;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.resilience.ScrumBoardResilience;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Write-behind outbox for task mutations. Enabled with {@code scrumboard.client.outbox.enabled=true}.
+ * A mutation is appended to the journal and acknowledged once the journal has been flushed to disk, which happens
+ * for all pending appends together every fsync-interval. A drainer then sends the mutations to the server,
+ * in order and one at a time per task, retrying transient failures. Mutations the server rejects are dropped.
+ * Before sending, updates followed by another update or a delete are skipped, and so is a task created and
+ * deleted before it reached the server. Delivery is at least once: a crash between the server call and its
+ * acknowledgement in the journal sends the mutation again after the restart.
+ *
+ * The server id of a task created through the outbox is kept in memory for the rest of the run, but after a restart
+ * it is only known while the journal still holds the MAPPED record, which goes with the first segment deleted after
+ * all mutations in it were applied. Past that, a local id is sent to the server as is, and the update or delete
+ * fails with 404 and is dropped. Callers keeping task ids should replace local ids with {@link #resolveTaskId(String)}
+ * once the create has been applied.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scrumboard.client.outbox", name = "enabled", havingValue = "true")
+@Slf4j
+public class TaskOutbox {
+    public static final String LOCAL_ID_PREFIX = "local-";
+
+    final private ReactiveScrumBoardService reactiveScrumBoardService;
+    final private ScrumBoardClientProperties.Outbox outbox;
+    final private int concurrency;
+    final private OutboxJournal journal;
+    final private Counter dropped;
+
+    // Everything below is guarded by this.
+    final private Map<String, ArrayDeque<OutboxEntry>> pending = new HashMap<>();
+    final private TreeMap<Long, OutboxEntry> live = new TreeMap<>();
+    final private Map<String, String> serverIds = new HashMap<>();
+    final private Set<String> inFlight = new HashSet<>();
+    final private Map<String, Long> retryAt = new HashMap<>();
+    private Sinks.One<Void> nextFlush = Sinks.one();
+    private boolean appendedSinceFlush;
+
+    private Disposable flusher;
+    private Disposable drainer;
+
+    public TaskOutbox(ReactiveScrumBoardService reactiveScrumBoardService, ScrumBoardClientProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.reactiveScrumBoardService = reactiveScrumBoardService;
+        this.outbox = properties.getOutbox();
+        this.concurrency = properties.getBulk().getConcurrency();
+        this.journal = new OutboxJournal(Path.of(outbox.getDirectory()), (int) outbox.getSegmentSize().toBytes());
+        this.dropped = Counter.builder("scrumboard.client.outbox.dropped")
+                .description("Mutations the server rejected, which are not retried")
+                .register(meterRegistry);
+        Gauge.builder("scrumboard.client.outbox.pending", this, TaskOutbox::pendingCount)
+                .description("Mutations journaled but not applied on the server yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        recover();
+        flusher = Flux.interval(outbox.getFsyncInterval(), Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> flush());
+        drainer = Flux.interval(outbox.getDrainInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (drainer != null) drainer.dispose();
+        if (flusher != null) flusher.dispose();
+        flush();
+        synchronized (this) {
+            journal.close();
+        }
+    }
+
+    /**
+     * @return Returns a Mono that emits the local id of the task, usable in later calls, once the create is durable.
+     * The local id stops being usable after a restart once the journal no longer holds its server id.
+     */
+    public Mono<String> createTask(TaskRequestDTO taskRequestDTO) {
+        final var localId = LOCAL_ID_PREFIX + UUID.randomUUID();
+        return append(OutboxEntry.create(localId, taskRequestDTO)).thenReturn(localId);
+    }
+
+    /**
+     * @param taskId which is the UUID in String format, or a local id from {@link #createTask(TaskRequestDTO)}.
+     * @return Returns a Mono that completes once the update is durable.
+     */
+    public Mono<Void> updateTask(String taskId, TaskRequestDTO taskRequestDTO) {
+        return append(OutboxEntry.update(taskId, taskRequestDTO));
+    }
+
+    public Mono<Void> deleteTask(String taskId) {
+        return append(OutboxEntry.delete(taskId));
+    }
+
+    /**
+     * @return Returns the server id of a task created through the outbox, or the given id when it is not known.
+     */
+    public synchronized String resolveTaskId(String taskId) {
+        return serverIds.getOrDefault(taskId, taskId);
+    }
+
+    public synchronized int pendingCount() {
+        return live.size();
+    }
+
+    private Mono<Void> append(OutboxEntry entry) {
+        return Mono.defer(() -> {
+            final Sinks.One<Void> flushed;
+            synchronized (this) {
+                final var resolved = new OutboxEntry(0, entry.getType(), resolveTaskId(entry.getKey()),
+                        entry.getRequest(), null, 0);
+                apply(journal.append(resolved));
+                appendedSinceFlush = true;
+                flushed = nextFlush;
+            }
+            return flushed.asMono();
+        });
+    }
+
+    void recover() {
+        synchronized (this) {
+            journal.recover().forEach(this::apply);
+        }
+        log.info("Outbox in {} has {} pending mutations", outbox.getDirectory(), pendingCount());
+    }
+
+    void flush() {
+        final Sinks.One<Void> flushed;
+        synchronized (this) {
+            if (!appendedSinceFlush) return;
+            journal.force();
+            appendedSinceFlush = false;
+            flushed = nextFlush;
+            nextFlush = Sinks.one();
+        }
+        flushed.tryEmitEmpty();
+    }
+
+    /*
+     * Used both for new records and for the records replayed from the journal at startup.
+     */
+    private void apply(OutboxEntry entry) {
+        switch (entry.getType()) {
+            case CREATE, UPDATE, DELETE -> {
+                live.put(entry.getSequence(), entry);
+                pending.computeIfAbsent(resolveTaskId(entry.getKey()), key -> new ArrayDeque<>()).addLast(entry);
+            }
+            case MAPPED -> {
+                serverIds.put(entry.getKey(), entry.getServerId());
+                final var moved = pending.remove(entry.getKey());
+                if (moved == null) return;
+                final var existing = pending.get(entry.getServerId());
+                if (existing != null) moved.addAll(existing);
+                pending.put(entry.getServerId(), moved);
+            }
+            case ACK -> {
+                final var acked = live.remove(entry.getAckedSequence());
+                if (acked == null) return;
+                final var key = resolveTaskId(acked.getKey());
+                final var queue = pending.get(key);
+                if (queue == null) return;
+                queue.remove(acked);
+                if (queue.isEmpty()) pending.remove(key);
+            }
+        }
+    }
+
+    private void acknowledge(OutboxEntry entry) {
+        apply(journal.append(OutboxEntry.ack(entry.getSequence())));
+        appendedSinceFlush = true;
+    }
+
+    Mono<Void> drain() {
+        return Mono.fromCallable(this::nextBatch)
+                .flatMapMany(Flux::fromIterable)
+                .flatMap(head -> send(head.getKey(), head.getValue()), concurrency)
+                .then(Mono.fromRunnable(() -> {
+                    synchronized (this) {
+                        journal.deleteSegmentsBefore(live.isEmpty() ? Long.MAX_VALUE : live.firstKey());
+                    }
+                }))
+                .onErrorResume(error -> {
+                    log.error("Outbox drain failed", error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    synchronized List<Map.Entry<String, OutboxEntry>> nextBatch() {
+        final long now = System.nanoTime();
+        final List<Map.Entry<String, OutboxEntry>> batch = new ArrayList<>();
+        final var keys = new ArrayList<>(pending.keySet());
+        for (String key : keys) {
+            if (batch.size() >= outbox.getBatchSize()) break;
+            if (inFlight.contains(key)) continue;
+            final var due = retryAt.get(key);
+            if (due != null && due - now > 0) continue;
+
+            final var queue = pending.get(key);
+            compact(queue);
+            if (queue.isEmpty()) {
+                pending.remove(key);
+                continue;
+            }
+            inFlight.add(key);
+            batch.add(Map.entry(key, queue.peekFirst()));
+        }
+        return batch;
+    }
+
+    /*
+     * Acknowledges, without sending, what the server would overwrite anyway.
+     */
+    private void compact(ArrayDeque<OutboxEntry> queue) {
+        final var head = queue.peekFirst();
+        if (head != null && head.getType() == OutboxEntry.Type.CREATE
+                && queue.stream().anyMatch(entry -> entry.getType() == OutboxEntry.Type.DELETE)) {
+            OutboxEntry entry;
+            do {
+                entry = queue.peekFirst();
+                acknowledge(entry);
+            } while (entry.getType() != OutboxEntry.Type.DELETE);
+        }
+
+        final List<OutboxEntry> superseded = new ArrayList<>();
+        final Iterator<OutboxEntry> entries = queue.iterator();
+        OutboxEntry previous = null;
+        while (entries.hasNext()) {
+            final var entry = entries.next();
+            if (previous != null && previous.getType() == OutboxEntry.Type.UPDATE
+                    && (entry.getType() == OutboxEntry.Type.UPDATE || entry.getType() == OutboxEntry.Type.DELETE))
+                superseded.add(previous);
+            previous = entry;
+        }
+        superseded.forEach(this::acknowledge);
+    }
+
+    private Mono<Void> send(String key, OutboxEntry entry) {
+        final Mono<String> call = switch (entry.getType()) {
+            case CREATE -> reactiveScrumBoardService.createTask(entry.getRequest()).map(Task::getId);
+            case UPDATE -> reactiveScrumBoardService.updateTask(key, entry.getRequest()).then(Mono.empty());
+            case DELETE -> reactiveScrumBoardService.deleteTask(key).then(Mono.empty());
+            default -> Mono.empty();
+        };
+
+        return call
+                .doOnNext(serverId -> sent(key, entry, serverId))
+                .switchIfEmpty(Mono.fromRunnable(() -> sent(key, entry, null)))
+                .onErrorResume(error -> {
+                    failed(key, entry, error);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    synchronized void sent(String key, OutboxEntry entry, String serverId) {
+        if (serverId != null) apply(journal.append(OutboxEntry.mapped(key, serverId)));
+        acknowledge(entry);
+        inFlight.remove(key);
+        retryAt.remove(key);
+    }
+
+    synchronized void failed(String key, OutboxEntry entry, Throwable error) {
+        inFlight.remove(key);
+        if (ScrumBoardResilience.isTransient(error)) {
+            retryAt.put(key, System.nanoTime() + outbox.getRetryBackoff().toNanos());
+            return;
+        }
+
+        log.warn("Dropped outbox {} of task {}: {}", entry.getType(), key, error.toString());
+        dropped.increment();
+        acknowledge(entry);
+        retryAt.remove(key);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pagejump.scrumboardwebclient.replica;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+
+/**
+ * Receives the changes applied to a {@link TaskBoardReplica}.
+ */
+@FunctionalInterface
+public interface BoardChangeListener {
+
+    /**
+     * @param previous which is null when the task was added.
+     * @param current which is null when the task was deleted or left the board.
+     */
+    void onTaskChanged(Task previous, Task current);
+}
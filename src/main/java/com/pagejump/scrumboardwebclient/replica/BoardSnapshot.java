@@ -0,0 +1,120 @@
+package com.pagejump.scrumboardwebclient.replica;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.Value;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary file with the tasks of the board and the newest updateTime seen.
+ * Layout: magic, version, watermark, task count, the tasks as length prefixed UTF-8 fields, then a CRC32 of
+ * everything before it. Written to a temporary file that replaces the old one, read through a memory mapping.
+ */
+final class BoardSnapshot {
+    private static final int MAGIC = 0x53425331;
+    private static final int VERSION = 1;
+
+    private BoardSnapshot() {
+    }
+
+    @Value
+    static class Contents {
+        List<Task> tasks;
+        LocalDateTime watermark;
+    }
+
+    static void write(Path file, Collection<Task> tasks, LocalDateTime watermark) throws IOException {
+        final var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final var temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            final var crc = new CRC32();
+            final var out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeNullable(out, watermark == null ? null : watermark.toString());
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                writeNullable(out, task.getId());
+                writeNullable(out, task.getTitle());
+                writeNullable(out, task.getDescription());
+                writeNullable(out, task.getStatus());
+                out.writeBoolean(task.isDeleted());
+                writeNullable(out, task.getCreationTime());
+                writeNullable(out, task.getUpdateTime());
+            }
+            out.flush();
+            // The checksum itself is not part of what it covers.
+            final var checksum = ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).flip();
+            while (checksum.hasRemaining()) channel.write(checksum);
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return Returns the contents, or null when there is no snapshot or it is damaged or of another version.
+     */
+    static Contents read(Path file) throws IOException {
+        if (!Files.exists(file)) return null;
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < 3L * Integer.BYTES + Long.BYTES) return null;
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            final var crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - Long.BYTES));
+            if (crc.getValue() != buffer.getLong((int) size - Long.BYTES)) return null;
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            final var watermark = readNullable(buffer);
+            final int count = buffer.getInt();
+            final List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(new Task(readNullable(buffer), readNullable(buffer), readNullable(buffer),
+                        readNullable(buffer), buffer.get() != 0, readNullable(buffer), readNullable(buffer)));
+            }
+            return new Contents(tasks, watermark == null ? null : LocalDateTime.parse(watermark));
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) return null;
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
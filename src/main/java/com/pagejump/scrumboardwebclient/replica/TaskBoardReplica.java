@@ -0,0 +1,351 @@
+package com.pagejump.scrumboardwebclient.replica;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.TaskChangeListener;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the board, keyed by task id. Enabled with {@code scrumboard.client.replica.enabled=true}.
+ * The server offers no change feed, so refreshes are polls on {@code scrumboard.client.replica.refresh-interval}.
+ * By default every refresh is a full load, which also removes the tasks the server no longer lists.
+ * With {@code scrumboard.client.replica.incremental=true}, for servers that filter on updatedSince and
+ * includeDeleted, only the tasks updated since the newest updateTime seen are listed, deleted ones included so that
+ * they can be removed, and a full load every {@code scrumboard.client.replica.full-load-interval} drops the tasks
+ * removed without a deleted flag. When the server gives no updateTime every refresh falls back to a full load.
+ * Tasks passing through the services, listings included, are applied as the notifier passes them on.
+ * With {@code scrumboard.client.replica.snapshot-file} set, the board is also saved to disk periodically and
+ * at shutdown, and loaded from there at startup, so the board can be read before the server answers. An incremental
+ * replica then revalidates the restored tasks by listing the changes since the snapshot's watermark, and leaves the
+ * tasks removed without a deleted flag to the next scheduled full load.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scrumboard.client.replica", name = "enabled", havingValue = "true")
+@Slf4j
+public class TaskBoardReplica implements TaskChangeListener {
+    final private ReactiveScrumBoardService reactiveScrumBoardService;
+    final private TaskChangeNotifier notifier;
+    final private ScrumBoardClientProperties.Replica replica;
+
+    final private Map<String, Task> tasks = new ConcurrentHashMap<>();
+    // Deleted task id to the time it was deleted locally, in milliseconds.
+    final private Map<String, Long> tombstones = new ConcurrentHashMap<>();
+    final private ReadWriteLock lock = new ReentrantReadWriteLock();
+    final private List<BoardChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile LocalDateTime watermark;
+    private volatile boolean loaded;
+    // Whether lastFullLoad is set, by a full load or by a restore that counts as one for scheduling the next.
+    private volatile boolean fullLoadScheduled;
+    private volatile long lastFullLoad;
+    // Tasks saved while a full load is listing, which the listing may have missed. Null outside full loads.
+    private volatile Set<String> savedDuringFullLoad;
+    private Disposable sync;
+    private Disposable snapshots;
+
+    public TaskBoardReplica(ReactiveScrumBoardService reactiveScrumBoardService, TaskChangeNotifier notifier,
+                            ScrumBoardClientProperties properties) {
+        this.reactiveScrumBoardService = reactiveScrumBoardService;
+        this.notifier = notifier;
+        this.replica = properties.getReplica();
+    }
+
+    @PostConstruct
+    void start() {
+        if (StringUtils.hasText(replica.getSnapshotFile())) {
+            restoreSnapshot();
+            snapshots = Flux.interval(replica.getSnapshotInterval(), Schedulers.boundedElastic())
+                    .onBackpressureDrop()
+                    .subscribe(tick -> saveSnapshot());
+        }
+
+        notifier.register(this);
+        sync = Flux.interval(Duration.ZERO, replica.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            log.warn("Task board refresh failed: {}", error.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        notifier.unregister(this);
+        if (sync != null) sync.dispose();
+        if (snapshots != null) {
+            snapshots.dispose();
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Brings the replica up to date: a full load, or the changed tasks when the replica is incremental and the last
+     * full load is recent enough.
+     */
+    public Mono<Void> refresh() {
+        pruneTombstones();
+        final var since = watermark;
+        if (since == null || !replica.isIncremental() || fullLoadDue()) return fullLoad();
+
+        final var changes = TaskQuery.builder()
+                .size(replica.getPageSize())
+                .includeDeleted(true)
+                .updatedSince(since.minus(replica.getOverlap()))
+                .build();
+
+        return reactiveScrumBoardService.listTasks(changes)
+                .doOnNext(this::advanceWatermark)
+                .then();
+    }
+
+    /**
+     * Reads the whole board at one point in time. Changes and watermark moves are held back while the copy is made.
+     *
+     * @return Returns an unmodifiable map of task id to Task model.
+     */
+    public Map<String, Task> snapshot() {
+        lock.readLock().lock();
+        try {
+            return Map.copyOf(tasks);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the board to the snapshot file. Does nothing before the board is loaded.
+     */
+    public void saveSnapshot() {
+        if (!loaded) return;
+
+        final Map<String, Task> board;
+        final LocalDateTime savedWatermark;
+        lock.readLock().lock();
+        try {
+            board = Map.copyOf(tasks);
+            savedWatermark = watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            BoardSnapshot.write(Path.of(replica.getSnapshotFile()), board.values(), savedWatermark);
+            log.debug("Saved {} tasks to {}", board.size(), replica.getSnapshotFile());
+        } catch (IOException e) {
+            log.warn("Could not save the task board snapshot to {}", replica.getSnapshotFile(), e);
+        }
+    }
+
+    /**
+     * @return Returns the Task model, or null when the task is not on the board.
+     */
+    public Task get(String taskId) {
+        return tasks.get(taskId);
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * @return Returns true once the first full load has completed, or a snapshot has been restored.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Listeners are called while the change is applied, so they see changes one at a time and in order.
+     */
+    public void addListener(BoardChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BoardChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onTaskSaved(Task task) {
+        final var saved = savedDuringFullLoad;
+        if (saved != null && task.getId() != null) saved.add(task.getId());
+        apply(task);
+    }
+
+    @Override
+    public void onTaskDeleted(String taskId) {
+        lock.writeLock().lock();
+        try {
+            tombstones.put(taskId, System.currentTimeMillis());
+            final var previous = tasks.remove(taskId);
+            if (previous != null) changed(previous, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * The restore counts as a full load for scheduling, so an incremental replica next lists only the changes since
+     * the snapshot's watermark. Tasks deleted while the client was down come back with their deleted flag, and those
+     * the server no longer lists at all are removed by the next scheduled full load.
+     */
+    void restoreSnapshot() {
+        final BoardSnapshot.Contents contents;
+        try {
+            contents = BoardSnapshot.read(Path.of(replica.getSnapshotFile()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring the task board snapshot {}", replica.getSnapshotFile(), e);
+            return;
+        }
+        if (contents == null) return;
+
+        lock.writeLock().lock();
+        try {
+            contents.getTasks().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        watermark = contents.getWatermark();
+        lastFullLoad = System.nanoTime();
+        fullLoadScheduled = true;
+        loaded = true;
+        log.info("Restored {} tasks from {} up to {}", contents.getTasks().size(), replica.getSnapshotFile(), watermark);
+    }
+
+    /*
+     * The listed tasks are applied as the service passes them to the notifier, so the load only has to remove the
+     * tasks the server no longer lists, apart from those saved meanwhile.
+     */
+    private Mono<Void> fullLoad() {
+        final var board = TaskQuery.builder().size(replica.getPageSize()).build();
+        final Set<String> listed = new HashSet<>();
+        final Set<String> saved = ConcurrentHashMap.newKeySet();
+        savedDuringFullLoad = saved;
+
+        return reactiveScrumBoardService.listTasks(board)
+                .doOnNext(task -> {
+                    listed.add(task.getId());
+                    advanceWatermark(task);
+                })
+                .then(Mono.fromRunnable(() -> {
+                    lock.writeLock().lock();
+                    try {
+                        final var gone = new HashSet<>(tasks.keySet());
+                        gone.removeAll(listed);
+                        gone.removeAll(saved);
+                        for (String taskId : gone) changed(tasks.remove(taskId), null);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    lastFullLoad = System.nanoTime();
+                    fullLoadScheduled = true;
+                    loaded = true;
+                    log.info("Task board replica loaded with {} tasks", listed.size());
+                }))
+                .doFinally(signal -> savedDuringFullLoad = null)
+                .then();
+    }
+
+    private boolean fullLoadDue() {
+        return !fullLoadScheduled || System.nanoTime() - lastFullLoad >= replica.getFullLoadInterval().toNanos();
+    }
+
+    /*
+     * Deleted tasks become tombstones. Upserts older than what is held, or for a tombstoned id, are ignored,
+     * and so are exact repeats, which the overlap of incremental refreshes produces.
+     */
+    private void apply(Task task) {
+        lock.writeLock().lock();
+        try {
+            final var previous = tasks.get(task.getId());
+            if (task.isDeleted()) {
+                tombstones.put(task.getId(), System.currentTimeMillis());
+                if (previous != null) changed(tasks.remove(task.getId()), null);
+                return;
+            }
+            if (tombstones.containsKey(task.getId()) || task.equals(previous) || isOlder(task, previous)) return;
+
+            tasks.put(task.getId(), task);
+            changed(previous, task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void changed(Task previous, Task current) {
+        for (BoardChangeListener listener : listeners) {
+            try {
+                listener.onTaskChanged(previous, current);
+            } catch (RuntimeException e) {
+                log.warn("Board listener {} failed", listener, e);
+            }
+        }
+    }
+
+    /*
+     * Under the write lock, so that a snapshot saved under the read lock holds the tasks up to its watermark.
+     */
+    private void advanceWatermark(Task task) {
+        final var updateTime = parseUpdateTime(task);
+        if (updateTime == null) return;
+        lock.writeLock().lock();
+        try {
+            if (watermark == null || updateTime.isAfter(watermark)) watermark = updateTime;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void pruneTombstones() {
+        final long expired = System.currentTimeMillis() - replica.getTombstoneRetention().toMillis();
+        tombstones.values().removeIf(deletedAt -> deletedAt < expired);
+    }
+
+    private static boolean isOlder(Task task, Task previous) {
+        if (previous == null) return false;
+        final var updateTime = parseUpdateTime(task);
+        final var previousUpdateTime = parseUpdateTime(previous);
+        return updateTime != null && previousUpdateTime != null && updateTime.isBefore(previousUpdateTime);
+    }
+
+    private static LocalDateTime parseUpdateTime(Task task) {
+        if (task.getUpdateTime() == null) return null;
+        try {
+            return LocalDateTime.parse(task.getUpdateTime());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
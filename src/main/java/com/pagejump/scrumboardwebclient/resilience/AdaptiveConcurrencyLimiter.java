@@ -0,0 +1,192 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.exception.ConcurrencyLimitExceededException;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the calls in flight to a limit that follows the latency of the server (AIMD).
+ * Each call that comes back within latency-tolerance times the lowest latency seen for its operation, while at least
+ * half of the limit was in use, adds 1 / limit to it, which is one per round of calls. Operations keep their own
+ * lowest latency since a listing is expected to take longer than a single read. A slower call or a transient failure
+ * multiplies the limit by backoff-ratio, at most once per round trip. Calls over the limit wait in a queue, or fail
+ * with {@link ConcurrencyLimitExceededException} when the queue is full or the wait is too long.
+ * Disabled by default, since callers that never had a limit can then be refused.
+ * Reference: https://github.com/Netflix/concurrency-limits
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    private final ScrumBoardClientProperties.Limiter limiter;
+    private final Counter rejected;
+
+    // Guarded by this.
+    private final ArrayDeque<MonoSink<Integer>> waiting = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    // Per operation ordinal, with a last slot for calls made outside the services.
+    private final long[] minLatencyNanos = new long[ScrumBoardOperation.values().length + 1];
+    private final long[] minLatencyExpiresAt = new long[minLatencyNanos.length];
+    private long lastDecreaseAt;
+
+    public AdaptiveConcurrencyLimiter(ScrumBoardClientProperties properties, MeterRegistry meterRegistry) {
+        this.limiter = properties.getLimiter();
+        this.limit = limiter.getInitialLimit();
+        Arrays.fill(minLatencyNanos, Long.MAX_VALUE);
+        this.rejected = Counter.builder("scrumboard.client.concurrency.rejected")
+                .description("Calls refused because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("scrumboard.client.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of calls in flight")
+                .register(meterRegistry);
+        Gauge.builder("scrumboard.client.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!limiter.isEnabled()) return call;
+
+        return Mono.deferContextual(context -> {
+            final int slot = slotOf(ScrumBoardOperation.from(context));
+            return acquire().flatMap(inFlightAtStart -> {
+                final long start = System.nanoTime();
+                return call
+                        .doOnSuccess(value -> sample(slot, start, false, inFlightAtStart))
+                        .doOnError(error -> sample(slot, start, ScrumBoardResilience.isTransient(error), inFlightAtStart))
+                        .doFinally(signal -> release());
+            });
+        });
+    }
+
+    /**
+     * Same as {@link #limit(Mono)} for streamed responses. The latency is the time to the first element.
+     */
+    public <T> Flux<T> limitFlux(Flux<T> call) {
+        if (!limiter.isEnabled()) return call;
+
+        return Flux.deferContextual(context -> {
+            final int slot = slotOf(ScrumBoardOperation.from(context));
+            return acquire().flatMapMany(inFlightAtStart -> {
+                final long start = System.nanoTime();
+                final var sampled = new AtomicBoolean();
+                return call
+                        .doOnNext(value -> {
+                            if (sampled.compareAndSet(false, true)) sample(slot, start, false, inFlightAtStart);
+                        })
+                        .doOnComplete(() -> {
+                            if (sampled.compareAndSet(false, true)) sample(slot, start, false, inFlightAtStart);
+                        })
+                        .doOnError(error -> {
+                            if (sampled.compareAndSet(false, true))
+                                sample(slot, start, ScrumBoardResilience.isTransient(error), inFlightAtStart);
+                        })
+                        .doFinally(signal -> release());
+            });
+        });
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /*
+     * Emits the number of calls in flight including this one. A waiting call that is cancelled after it was
+     * granted a slot gives the slot back.
+     */
+    private Mono<Integer> acquire() {
+        return Mono.<Integer>create(sink -> {
+                    synchronized (this) {
+                        if (inFlight < (int) limit) {
+                            sink.success(++inFlight);
+                            return;
+                        }
+                        if (waiting.size() >= limiter.getMaxQueue()) {
+                            sink.error(reject());
+                            return;
+                        }
+                        waiting.addLast(sink);
+                    }
+                    sink.onCancel(() -> {
+                        final boolean granted;
+                        synchronized (this) {
+                            granted = !waiting.remove(sink);
+                        }
+                        if (granted) release();
+                    });
+                })
+                .timeout(limiter.getMaxQueueWait(), Mono.error(this::reject));
+    }
+
+    private ConcurrencyLimitExceededException reject() {
+        rejected.increment();
+        return ConcurrencyLimitExceededException.withoutStackTrace(ConcurrencyLimitExceededException.LIMIT_REACHED);
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        grantWaiting();
+    }
+
+    private void grantWaiting() {
+        final List<MonoSink<Integer>> granted = new ArrayList<>();
+        final List<Integer> inFlightCounts = new ArrayList<>();
+        synchronized (this) {
+            while (inFlight < (int) limit && !waiting.isEmpty()) {
+                granted.add(waiting.pollFirst());
+                inFlightCounts.add(++inFlight);
+            }
+        }
+        for (int i = 0; i < granted.size(); i++) granted.get(i).success(inFlightCounts.get(i));
+    }
+
+    private void sample(int slot, long start, boolean dropped, int inFlightAtStart) {
+        final long now = System.nanoTime();
+        final long latency = now - start;
+        synchronized (this) {
+            if (dropped) {
+                decrease(slot, now);
+            } else {
+                if (latency < minLatencyNanos[slot] || now - minLatencyExpiresAt[slot] > 0) {
+                    minLatencyNanos[slot] = latency;
+                    minLatencyExpiresAt[slot] = now + limiter.getMinLatencyWindow().toNanos();
+                }
+                if (latency > minLatencyNanos[slot] * limiter.getLatencyTolerance()) decrease(slot, now);
+                else if (inFlightAtStart * 2 >= limit) limit = Math.min(limiter.getMaxLimit(), limit + 1 / limit);
+            }
+        }
+        grantWaiting();
+    }
+
+    private static int slotOf(ScrumBoardOperation operation) {
+        return operation == null ? ScrumBoardOperation.values().length : operation.ordinal();
+    }
+
+    private void decrease(int slot, long now) {
+        if (minLatencyNanos[slot] != Long.MAX_VALUE && now - lastDecreaseAt < minLatencyNanos[slot]) return;
+
+        final double previous = limit;
+        limit = Math.max(limiter.getMinLimit(), limit * limiter.getBackoffRatio());
+        lastDecreaseAt = now;
+        if ((int) previous != (int) limit) log.debug("Concurrency limit lowered to {}", (int) limit);
+    }
+}
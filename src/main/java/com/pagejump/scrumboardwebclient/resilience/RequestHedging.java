@@ -0,0 +1,111 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedged requests for idempotent reads.
+ * If the first request has not answered after the hedge delay, an identical request is sent. The load balancer
+ * sees the first request still in flight, so the hedge usually goes to another backend.
+ * The first answer wins and the other request is cancelled. A failed hedge is ignored, the first request decides.
+ * Hedges are paid from a token budget that grows by max-hedge-percent per request, so they cannot amplify load.
+ * The observed p95 is the latency of the first requests sent to the server, cut off when a hedge answered first,
+ * so answers from the task cache do not lower the delay.
+ * Reference: https://research.google/pubs/pub40801/ (The Tail at Scale)
+ */
+@Component
+@Slf4j
+public class RequestHedging {
+    private static final double MAX_TOKENS = 10;
+    private static final double DELAY_PERCENTILE = 0.95;
+
+    private final ScrumBoardClientProperties.Hedging hedging;
+    private final Map<ScrumBoardOperation, Timer> serverTimers = new EnumMap<>(ScrumBoardOperation.class);
+    private final Counter hedgesSent;
+    private final double tokensPerRequest;
+    private double tokens;
+
+    public RequestHedging(ScrumBoardClientProperties properties, MeterRegistry meterRegistry) {
+        this.hedging = properties.getHedging();
+        this.tokensPerRequest = hedging.getMaxHedgePercent() / 100;
+        this.hedgesSent = Counter.builder("scrumboard.client.hedges")
+                .description("Second requests sent because the first one was slower than the hedge delay")
+                .register(meterRegistry);
+        for (ScrumBoardOperation operation : ScrumBoardOperation.values())
+            serverTimers.put(operation, Timer.builder("scrumboard.client.hedging.latency")
+                    .description("Latency of the first server request of the hedged calls")
+                    .tag("operation", operation.name().toLowerCase())
+                    .publishPercentiles(DELAY_PERCENTILE)
+                    .register(meterRegistry));
+
+        if (hedging.isEnabled()) log.info("Hedging reads after {} (at most {}% extra requests)",
+                hedging.getDelay(), hedging.getMaxHedgePercent());
+    }
+
+    /**
+     * @param call which sends the read. It is subscribed to once more for the hedge.
+     */
+    public <T> Mono<T> hedge(ScrumBoardOperation operation, Mono<T> call) {
+        if (!hedging.isEnabled()) return call;
+
+        final var serverTimer = serverTimers.get(operation);
+        return Mono.defer(() -> {
+            deposit();
+            final long start = System.nanoTime();
+            final Mono<T> first = call
+                    .doOnSuccess(value -> serverTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnCancel(() -> serverTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            final Mono<T> hedge = Mono.delay(delayOf(operation))
+                    .filter(tick -> tryWithdraw())
+                    .flatMap(tick -> {
+                        hedgesSent.increment();
+                        return call;
+                    })
+                    .onErrorResume(error -> Mono.never())
+                    .switchIfEmpty(Mono.never());
+
+            return Mono.firstWithSignal(first, hedge);
+        });
+    }
+
+    private Duration delayOf(ScrumBoardOperation operation) {
+        if (!hedging.isUseObservedP95()) return hedging.getDelay();
+
+        final var p95 = p95Of(operation);
+        if (p95 == null) return hedging.getDelay();
+        return p95.compareTo(hedging.getMinDelay()) < 0 ? hedging.getMinDelay() : p95;
+    }
+
+    private Duration p95Of(ScrumBoardOperation operation) {
+        final var timer = serverTimers.get(operation);
+        if (timer.count() == 0) return null;
+
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            if (value.percentile() == DELAY_PERCENTILE)
+                return Duration.ofNanos((long) value.value(TimeUnit.NANOSECONDS));
+        }
+        return null;
+    }
+
+    private synchronized void deposit() {
+        tokens = Math.min(MAX_TOKENS, tokens + tokensPerRequest);
+    }
+
+    private synchronized boolean tryWithdraw() {
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+}
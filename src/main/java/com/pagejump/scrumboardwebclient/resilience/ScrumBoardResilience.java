@@ -0,0 +1,122 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps the calls to the SCRUM Board Server Application in a bulkhead per operation, one circuit breaker for the
+ * server and, for idempotent operations, retries with jittered exponential backoff.
+ * DELETE is not retried: the server answers a second delete with 400, so a retry after a delete whose response was
+ * lost would report the successful delete as TaskAlreadyDeletedException.
+ * While the circuit is open calls fail at once with CallNotPermittedException instead of waiting for timeouts.
+ */
+@Component
+@Slf4j
+public class ScrumBoardResilience {
+    private static final Set<ScrumBoardOperation> IDEMPOTENT = EnumSet.of(
+            ScrumBoardOperation.LIST, ScrumBoardOperation.GET, ScrumBoardOperation.UPDATE);
+
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<ScrumBoardOperation, Bulkhead> bulkheads = new EnumMap<>(ScrumBoardOperation.class);
+    private final RetryBackoffSpec retrySpec;
+
+    public ScrumBoardResilience(ScrumBoardClientProperties properties) {
+        final var resilience = properties.getResilience();
+        final var breaker = resilience.getCircuitBreaker();
+        final var retry = resilience.getRetry();
+        this.enabled = resilience.isEnabled();
+
+        this.circuitBreaker = CircuitBreaker.of("scrumboard", CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDuration())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .recordException(ScrumBoardResilience::isTransient)
+                .build());
+        circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("SCRUM Board circuit breaker: {}", event.getStateTransition()));
+
+        for (ScrumBoardOperation operation : ScrumBoardOperation.values()) {
+            bulkheads.put(operation, Bulkhead.of("scrumboard-" + operation.name().toLowerCase(), BulkheadConfig.custom()
+                    .maxConcurrentCalls(resilience.getMaxConcurrentCalls())
+                    .maxWaitDuration(Duration.ZERO)
+                    .build()));
+        }
+
+        // Reference: https://projectreactor.io/docs/core/release/reference/#faq.exponentialBackoff
+        this.retrySpec = Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public <T> Mono<T> decorate(ScrumBoardOperation operation, Mono<T> call) {
+        if (!enabled) return call;
+
+        final var guarded = call
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(operation)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (!IDEMPOTENT.contains(operation)) return guarded;
+
+        return guarded.retryWhen(retrySpec.filter(ScrumBoardResilience::isTransient));
+    }
+
+    /**
+     * Flux calls are only retried while nothing was emitted, so subscribers never see an element twice.
+     */
+    public <T> Flux<T> decorate(ScrumBoardOperation operation, Flux<T> call) {
+        if (!enabled) return call;
+
+        final var guarded = call
+                .transformDeferred(BulkheadOperator.of(bulkheads.get(operation)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (!IDEMPOTENT.contains(operation)) return guarded;
+
+        return Flux.defer(() -> {
+            final var emitted = new AtomicBoolean();
+            return guarded
+                    .doOnNext(element -> emitted.set(true))
+                    .retryWhen(retrySpec.filter(error -> !emitted.get() && isTransient(error)));
+        });
+    }
+
+    public CircuitBreaker.State circuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Server errors, timeouts and connection failures. Client errors such as TaskNotFoundException are final.
+     */
+    public static boolean isTransient(Throwable error) {
+        return error instanceof ScrumBoardServerException
+                || error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof io.netty.handler.timeout.TimeoutException;
+    }
+}
@@ -0,0 +1,480 @@
+package com.pagejump.scrumboardwebclient.search;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.dto.TaskSearchQuery;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.model.TaskStatus;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.TaskChangeListener;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the task titles and descriptions, so searching does not list and scan the whole board.
+ * Enabled with {@code scrumboard.client.search.enabled=true}.
+ * Words are split on anything that is not a letter or digit and lower-cased. Results are ranked by the sum over the
+ * query words of a saturated term frequency times the inverse document frequency, title words counting double.
+ * Tasks passing through the services are indexed right away, and a full listing every
+ * {@code scrumboard.client.search.refresh-interval} picks up changes made by other clients and drops deleted tasks.
+ *
+ * A changed task is indexed under a new document number and its old one is only marked dead, so the postings are
+ * appended to and stay sorted. They are rewritten without the dead documents once those outnumber the live ones.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scrumboard.client.search", name = "enabled", havingValue = "true")
+@Slf4j
+public class TaskSearchIndex implements TaskChangeListener {
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final float SATURATION = 1.2f;
+    private static final int MIN_DEAD_DOCS_TO_COMPACT = 1024;
+
+    final private ReactiveScrumBoardService reactiveScrumBoardService;
+    final private TaskChangeNotifier notifier;
+    final private ScrumBoardClientProperties.Search search;
+
+    // Everything below is guarded by lock.
+    final private ReadWriteLock lock = new ReentrantReadWriteLock();
+    final private NavigableMap<String, Postings> terms = new TreeMap<>();
+    final private Map<String, Integer> docByTaskId = new HashMap<>();
+    final private BitSet live = new BitSet();
+    private String[] docTaskIds = new String[1024];
+    private byte[] docStatuses = new byte[1024];
+    // The text each document was indexed from, so that an unchanged text only updates the status.
+    private String[] docTitles = new String[1024];
+    private String[] docDescriptions = new String[1024];
+    // When each document was last indexed, so that a refresh keeps tasks created while it was listing.
+    private long[] docSequences = new long[1024];
+    private long sequence;
+    private int maxDoc;
+    private int deadDocs;
+
+    private volatile boolean loaded;
+    private Disposable sync;
+
+    public TaskSearchIndex(ReactiveScrumBoardService reactiveScrumBoardService, TaskChangeNotifier notifier,
+                           ScrumBoardClientProperties properties) {
+        this.reactiveScrumBoardService = reactiveScrumBoardService;
+        this.notifier = notifier;
+        this.search = properties.getSearch();
+    }
+
+    @PostConstruct
+    void start() {
+        notifier.register(this);
+        sync = Flux.interval(Duration.ZERO, search.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            log.warn("Task search index refresh failed: {}", error.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        notifier.unregister(this);
+        if (sync != null) sync.dispose();
+    }
+
+    /**
+     * Lists the whole board, indexes the tasks that changed and removes the ones that are gone.
+     * The listed tasks are indexed as the service passes them to the notifier, so the refresh only notes their ids.
+     */
+    public Mono<Void> refresh() {
+        final long start = currentSequence();
+        final Set<String> seen = new HashSet<>();
+        final var board = TaskQuery.builder().size(search.getPageSize()).build();
+
+        return reactiveScrumBoardService.listTasks(board)
+                .doOnNext(task -> seen.add(task.getId()))
+                .then(Mono.fromRunnable(() -> {
+                    removeUnseen(seen, start);
+                    loaded = true;
+                }));
+    }
+
+    /**
+     * @return Returns the ids of the matching tasks, best match first, at most the query limit of them.
+     */
+    public List<String> search(TaskSearchQuery query) {
+        final var words = new ArrayList<>(tokenize(query.getText()).keySet());
+        if (words.isEmpty() || query.getLimit() <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            final int liveDocs = maxDoc - deadDocs;
+            final List<Matches> matches = new ArrayList<>(words.size());
+            for (int i = 0; i < words.size(); i++) {
+                final boolean prefix = query.isPrefix() && i == words.size() - 1;
+                final var wordMatches = prefix ? matchPrefix(words.get(i), liveDocs) : matchTerm(words.get(i), liveDocs);
+                if (wordMatches.size == 0) return List.of();
+                matches.add(wordMatches);
+            }
+
+            // Intersecting from the rarest word keeps the intermediate results small.
+            matches.sort(Comparator.comparingInt(wordMatches -> wordMatches.size));
+            var result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.size > 0; i++) result = result.intersect(matches.get(i));
+            return top(result, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns the number of tasks in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByTaskId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Returns true once the first refresh has completed.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public void onTaskSaved(Task task) {
+        index(task);
+    }
+
+    @Override
+    public void onTaskDeleted(String taskId) {
+        lock.writeLock().lock();
+        try {
+            remove(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * A task whose title and description are unchanged only has its status updated, so that a refresh over an
+     * unchanged board does not tokenize anything.
+     */
+    private void index(Task task) {
+        if (task.getId() == null) return;
+
+        lock.writeLock().lock();
+        try {
+            if (task.isDeleted()) {
+                remove(task.getId());
+                return;
+            }
+
+            final byte status = (byte) TaskStatus.of(task.getStatus()).ordinal();
+            final Integer doc = docByTaskId.get(task.getId());
+            if (doc != null && Objects.equals(docTitles[doc], task.getTitle())
+                    && Objects.equals(docDescriptions[doc], task.getDescription())) {
+                docStatuses[doc] = status;
+                docSequences[doc] = ++sequence;
+                return;
+            }
+            if (doc != null) kill(doc);
+
+            final int newDoc = addDoc(task, status);
+            final Map<String, Integer> weights = new HashMap<>();
+            tokenize(task.getTitle(), TITLE_WEIGHT, weights);
+            tokenize(task.getDescription(), DESCRIPTION_WEIGHT, weights);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(newDoc, weight));
+            docByTaskId.put(task.getId(), newDoc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeUnseen(Set<String> seen, long start) {
+        lock.writeLock().lock();
+        try {
+            final var gone = new ArrayList<String>();
+            docByTaskId.forEach((taskId, doc) -> {
+                if (docSequences[doc] <= start && !seen.contains(taskId)) gone.add(taskId);
+            });
+            gone.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long currentSequence() {
+        lock.readLock().lock();
+        try {
+            return sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(String taskId) {
+        final Integer doc = docByTaskId.remove(taskId);
+        if (doc == null) return;
+        kill(doc);
+        compactIfNeeded();
+    }
+
+    private int addDoc(Task task, byte status) {
+        if (maxDoc == docTaskIds.length) {
+            final int capacity = docTaskIds.length * 2;
+            docTaskIds = Arrays.copyOf(docTaskIds, capacity);
+            docStatuses = Arrays.copyOf(docStatuses, capacity);
+            docTitles = Arrays.copyOf(docTitles, capacity);
+            docDescriptions = Arrays.copyOf(docDescriptions, capacity);
+            docSequences = Arrays.copyOf(docSequences, capacity);
+        }
+        docTaskIds[maxDoc] = task.getId();
+        docStatuses[maxDoc] = status;
+        docTitles[maxDoc] = task.getTitle();
+        docDescriptions[maxDoc] = task.getDescription();
+        docSequences[maxDoc] = ++sequence;
+        live.set(maxDoc);
+        return maxDoc++;
+    }
+
+    private void kill(int doc) {
+        live.clear(doc);
+        docTaskIds[doc] = null;
+        docTitles[doc] = null;
+        docDescriptions[doc] = null;
+        deadDocs++;
+    }
+
+    /*
+     * Renumbers the live documents from zero, keeping their order, and drops the dead ones from the postings.
+     */
+    private void compactIfNeeded() {
+        if (deadDocs < MIN_DEAD_DOCS_TO_COMPACT || deadDocs < maxDoc - deadDocs) return;
+
+        final int[] renumbered = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (!live.get(doc)) {
+                renumbered[doc] = -1;
+                continue;
+            }
+            renumbered[doc] = next;
+            docTaskIds[next] = docTaskIds[doc];
+            docStatuses[next] = docStatuses[doc];
+            docTitles[next] = docTitles[doc];
+            docDescriptions[next] = docDescriptions[doc];
+            docSequences[next] = docSequences[doc];
+            next++;
+        }
+        Arrays.fill(docTaskIds, next, maxDoc, null);
+        Arrays.fill(docTitles, next, maxDoc, null);
+        Arrays.fill(docDescriptions, next, maxDoc, null);
+
+        for (Iterator<Postings> iterator = terms.values().iterator(); iterator.hasNext(); ) {
+            final var postings = iterator.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) iterator.remove();
+        }
+        docByTaskId.replaceAll((taskId, doc) -> renumbered[doc]);
+        live.clear();
+        live.set(0, next);
+        log.debug("Compacted the task search index from {} to {} documents", maxDoc, next);
+        maxDoc = next;
+        deadDocs = 0;
+    }
+
+    private Matches matchTerm(String term, int liveDocs) {
+        final var postings = terms.get(term);
+        if (postings == null) return Matches.EMPTY;
+
+        final float idf = idf(postings.size, liveDocs);
+        final int[] docs = Arrays.copyOf(postings.docs, postings.size);
+        final float[] scores = new float[postings.size];
+        for (int i = 0; i < postings.size; i++) scores[i] = score(postings.weights[i], idf);
+        return new Matches(docs, scores, postings.size);
+    }
+
+    /*
+     * Merges the postings of every word starting with the prefix. A document containing several of them gets
+     * the sum of their scores.
+     */
+    private Matches matchPrefix(String prefix, int liveDocs) {
+        final var expansions = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (expansions.isEmpty()) return Matches.EMPTY;
+        if (expansions.size() == 1) return matchTerm(expansions.firstKey(), liveDocs);
+
+        int total = 0;
+        for (Postings postings : expansions.values()) total += postings.size;
+
+        // Document number in the high half and score bits in the low half, so sorting groups them by document.
+        final long[] entries = new long[total];
+        int n = 0;
+        for (Postings postings : expansions.values()) {
+            final float idf = idf(postings.size, liveDocs);
+            for (int i = 0; i < postings.size; i++)
+                entries[n++] = (long) postings.docs[i] << 32
+                        | Float.floatToRawIntBits(score(postings.weights[i], idf)) & 0xffffffffL;
+        }
+        Arrays.sort(entries);
+
+        final int[] docs = new int[total];
+        final float[] scores = new float[total];
+        int size = 0;
+        for (long entry : entries) {
+            final int doc = (int) (entry >>> 32);
+            final float score = Float.intBitsToFloat((int) entry);
+            if (size > 0 && docs[size - 1] == doc) {
+                scores[size - 1] += score;
+            } else {
+                docs[size] = doc;
+                scores[size++] = score;
+            }
+        }
+        return new Matches(docs, scores, size);
+    }
+
+    private List<String> top(Matches matches, TaskSearchQuery query) {
+        final int status = query.getStatus() == null ? -1 : query.getStatus().ordinal();
+        // Worst of the best so far at the head; equal scores favour the more recently indexed task.
+        final PriorityQueue<Integer> best = new PriorityQueue<>(query.getLimit() + 1,
+                Comparator.<Integer>comparingDouble(i -> matches.scores[i]).thenComparingInt(i -> matches.docs[i]));
+        for (int i = 0; i < matches.size; i++) {
+            final int doc = matches.docs[i];
+            if (!live.get(doc) || status >= 0 && docStatuses[doc] != status) continue;
+            best.add(i);
+            if (best.size() > query.getLimit()) best.poll();
+        }
+
+        final String[] taskIds = new String[best.size()];
+        for (int i = taskIds.length - 1; i >= 0; i--) taskIds[i] = docTaskIds[matches.docs[best.poll()]];
+        return List.of(taskIds);
+    }
+
+    // The document frequency still counts dead documents until compaction, so it can exceed the live ones.
+    private static float idf(int documentFrequency, int liveDocs) {
+        return (float) Math.log(1 + (Math.max(liveDocs - documentFrequency, 0) + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float score(int weight, float idf) {
+        return weight * (SATURATION + 1) / (weight + SATURATION) * idf;
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        final Map<String, Integer> words = new LinkedHashMap<>();
+        tokenize(text, 1, words);
+        return words;
+    }
+
+    private static void tokenize(String text, int weight, Map<String, Integer> weights) {
+        if (text == null) return;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                weights.merge(text.substring(start, i).toLowerCase(Locale.ROOT), weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * Documents containing one word, in increasing order, with the weight of the word in each.
+     */
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size++] = weight;
+        }
+
+        void renumber(int[] renumbered) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                final int doc = renumbered[docs[i]];
+                if (doc < 0) continue;
+                docs[next] = doc;
+                weights[next++] = weights[i];
+            }
+            size = next;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                weights = Arrays.copyOf(weights, Math.max(4, size * 2));
+            }
+        }
+    }
+
+    /**
+     * Matching documents of a query word, in increasing order, with their scores.
+     */
+    private static class Matches {
+        static final Matches EMPTY = new Matches(new int[0], new float[0], 0);
+
+        final int[] docs;
+        final float[] scores;
+        final int size;
+
+        Matches(int[] docs, float[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        Matches intersect(Matches other) {
+            final int[] commonDocs = new int[Math.min(size, other.size)];
+            final float[] commonScores = new float[commonDocs.length];
+            int n = 0;
+            for (int i = 0, j = 0; i < size && j < other.size; ) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    commonDocs[n] = docs[i];
+                    commonScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Matches(commonDocs, commonScores, n);
+        }
+    }
+}
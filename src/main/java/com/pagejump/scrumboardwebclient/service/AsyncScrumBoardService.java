@@ -0,0 +1,70 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.dto.TaskPage;
+import com.pagejump.scrumboardwebclient.dto.TaskPatch;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * CompletableFuture facade over {@link ScrumBoardService}.
+ * Each call blocks on a thread of the {@code scrumBoardExecutor}, which are virtual threads with
+ * {@code scrumboard.client.execution.mode=VIRTUAL}. Dependent stages therefore run there as well,
+ * never on a Reactor Netty event loop, so they may call the blocking service again.
+ * @author antonbondoc
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncScrumBoardService {
+
+    final private ScrumBoardService scrumBoardService;
+    final private ExecutorService scrumBoardExecutor;
+
+    public CompletableFuture<List<Task>> getAllTasksAsync() {
+        return CompletableFuture.supplyAsync(scrumBoardService::getAllTasks, scrumBoardExecutor);
+    }
+
+    public CompletableFuture<TaskPage> getTaskPageAsync(TaskQuery query) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.getTaskPage(query), scrumBoardExecutor);
+    }
+
+    /**
+     * @param taskId which is the UUID in String format.
+     * @return Returns a future of the Task model, completed with TaskNotFoundException when it does not exist.
+     */
+    public CompletableFuture<Task> getTaskByIdAsync(String taskId) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.getTaskById(taskId), scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Optional<Task>> findTaskByIdAsync(String taskId) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.findTaskById(taskId), scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Task> createTaskAsync(TaskRequestDTO taskRequestDTO) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.createTask(taskRequestDTO), scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Task> updateTaskAsync(String taskId, TaskRequestDTO taskRequestDTO) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.updateTask(taskId, taskRequestDTO),
+                scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Task> patchTaskAsync(String taskId, TaskPatch taskPatch) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.patchTask(taskId, taskPatch), scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Task> updateStatusAsync(String taskId, String status) {
+        return CompletableFuture.supplyAsync(() -> scrumBoardService.updateStatus(taskId, status), scrumBoardExecutor);
+    }
+
+    public CompletableFuture<Void> deleteTaskAsync(String taskId) {
+        return CompletableFuture.runAsync(() -> scrumBoardService.deleteTask(taskId), scrumBoardExecutor);
+    }
+}
@@ -0,0 +1,534 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.cache.TaskCache;
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.BulkItemResult;
+import com.pagejump.scrumboardwebclient.dto.TaskPage;
+import com.pagejump.scrumboardwebclient.dto.TaskPatch;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.exception.TaskNotFoundException;
+import com.pagejump.scrumboardwebclient.loadbalancer.BackendLoadBalancer;
+import com.pagejump.scrumboardwebclient.metrics.ScrumBoardClientMetrics;
+import com.pagejump.scrumboardwebclient.model.CompactTask;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.resilience.AdaptiveConcurrencyLimiter;
+import com.pagejump.scrumboardwebclient.resilience.RequestHedging;
+import com.pagejump.scrumboardwebclient.resilience.ScrumBoardResilience;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Non-blocking API calls to the SCRUM Board Server Application.
+ * Nothing is sent to the server until the returned publisher is subscribed to.
+ * {@link ScrumBoardService} is the blocking facade over this class.
+ * Error statuses are mapped to exceptions by {@link ScrumBoardErrors}.
+ * Tasks received from the server are passed to the listeners of {@link TaskChangeNotifier}.
+ * @author antonbondoc
+ */
+@Service
+@Slf4j
+public class ReactiveScrumBoardService {
+    /*
+     * References for error handling:
+     * https://www.baeldung.com/spring-webclient-get-response-body
+     * https://medium.com/swlh/spring-boot-webclient-cheat-sheet-5be26cfa3e
+     * https://medium.com/nerd-for-tech/webclient-error-handling-made-easy-4062dcf58c49
+     */
+
+    private static final String ALL_TASKS = "*";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String PAGE_HEADER = "X-Page";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final int PAGE_PREFETCH = 2;
+
+    final private WebClient scrumBoardClient;
+    final private TaskCache taskCache;
+    final private SingleFlight<String, TaskLookup> taskLookups;
+    final private SingleFlight<String, List<Task>> taskListReads;
+    final private ScrumBoardClientProperties.Bulk bulk;
+    final private ScrumBoardClientMetrics metrics;
+    final private ScrumBoardResilience resilience;
+    final private RequestHedging hedging;
+    final private TaskChangeNotifier notifier;
+    final private BackendLoadBalancer loadBalancer;
+    final private AdaptiveConcurrencyLimiter limiter;
+
+    public ReactiveScrumBoardService(WebClient scrumBoardClient, TaskCache taskCache,
+                                     ScrumBoardClientProperties properties, ScrumBoardClientMetrics metrics,
+                                     ScrumBoardResilience resilience, RequestHedging hedging,
+                                     TaskChangeNotifier notifier, BackendLoadBalancer loadBalancer,
+                                     AdaptiveConcurrencyLimiter limiter) {
+        this.scrumBoardClient = scrumBoardClient;
+        this.taskCache = taskCache;
+        this.metrics = metrics;
+        this.resilience = resilience;
+        this.hedging = hedging;
+        this.notifier = notifier;
+        this.loadBalancer = loadBalancer;
+        this.limiter = limiter;
+        this.bulk = properties.getBulk();
+        this.taskLookups = new SingleFlight<>(properties.isCoalesceReads());
+        this.taskListReads = new SingleFlight<>(properties.isCoalesceReads());
+    }
+
+    /**
+     * Gets all the available tasks in the server application.
+     * The response is decoded one Task at a time, so the board is never held in memory as a whole.
+     * Newline delimited JSON is requested when the server offers it.
+     *
+     * @return Returns a Flux that emits every Task model.
+     */
+    public Flux<Task> getAllTasks() {
+        final Function<String, Flux<Task>> request = backendUrl -> scrumBoardClient.get()
+                .uri(backendUrl)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.LIST))
+                .bodyToFlux(Task.class)
+                .doOnNext(notifier::taskSaved);
+
+        return metrics.timed(ScrumBoardOperation.LIST, guardedFlux(ScrumBoardOperation.LIST, request));
+    }
+
+    /**
+     * Same as {@link #getAllTasks()}, decoded straight into the immutable CompactTask form.
+     * Tasks read this way are not passed to the change listeners.
+     *
+     * @return Returns a Flux that emits every task as a CompactTask.
+     */
+    public Flux<CompactTask> getAllCompactTasks() {
+        final Function<String, Flux<CompactTask>> request = backendUrl -> scrumBoardClient.get()
+                .uri(backendUrl)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.LIST))
+                .bodyToFlux(CompactTask.class);
+
+        return metrics.timed(ScrumBoardOperation.LIST, guardedFlux(ScrumBoardOperation.LIST, request));
+    }
+
+    /**
+     * Gets all the available tasks collected in one list.
+     * Callers asking while a download is already running share it instead of starting another one.
+     *
+     * @return Returns a Mono that emits an unmodifiable list of Task models.
+     */
+    public Mono<List<Task>> getAllTasksAsList() {
+        return taskListReads.execute(ALL_TASKS, () -> getAllTasks()
+                .collectList()
+                .map(Collections::unmodifiableList));
+    }
+
+    /**
+     * Same as {@link #getAllTasks()}, kept for existing callers.
+     */
+    public Flux<Task> getAllTasksErrorMap() {
+        return getAllTasks();
+    }
+
+    /**
+     * Gets one page of tasks. The query is sent as the page, cursor, size, status, includeDeleted and
+     * updatedSince parameters, and the filters are applied again to what the server returns.
+     * A server that pages answers with an X-Next-Cursor header, or echoes the page number in X-Page or the number
+     * of tasks in X-Total-Count. Without any of them the response is taken as the whole listing, so a server that
+     * ignores the parameters is read once. Otherwise the page is the last one when there is no next cursor and
+     * the total is reached or fewer tasks than the page size came back.
+     *
+     * @return Returns a Mono that emits the filtered page.
+     */
+    public Mono<TaskPage> getTaskPage(TaskQuery query) {
+        final Function<String, Mono<TaskPage>> request = backendUrl -> scrumBoardClient.get()
+                .uri(backendUrl, uriBuilder -> taskPageUri(uriBuilder, query))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isError())
+                        return ScrumBoardErrors.<TaskPage>error(ScrumBoardOperation.LIST, response);
+
+                    final var headers = response.headers().asHttpHeaders();
+                    final var nextCursor = headers.getFirst(NEXT_CURSOR_HEADER);
+                    return response.bodyToFlux(Task.class)
+                            .doOnNext(notifier::taskSaved)
+                            .collectList()
+                            .map(tasks -> new TaskPage(
+                                    tasks.stream().filter(query::matches).toList(),
+                                    query.getPage(),
+                                    nextCursor,
+                                    isLastPage(query, headers, tasks.size())));
+                });
+
+        return metrics.timed(ScrumBoardOperation.LIST, guarded(ScrumBoardOperation.LIST, request));
+    }
+
+    /**
+     * Gets every task matching the query, page by page.
+     * The next page is requested while the current one is consumed, and no more than that.
+     * Listing stops when a page repeats the tasks of the one before, which a server ignoring the paging
+     * parameters while still sending paging headers would otherwise do forever.
+     *
+     * @return Returns a Flux that emits the matching Task models in server order.
+     */
+    public Flux<Task> listTasks(TaskQuery query) {
+        return getTaskPage(query)
+                .expand(page -> page.isLastPage() ? Mono.empty() : getTaskPage(query.next(page))
+                        .filter(next -> !repeats(page, next)))
+                .concatMapIterable(TaskPage::getItems, PAGE_PREFETCH);
+    }
+
+    private static boolean isLastPage(TaskQuery query, HttpHeaders headers, int received) {
+        if (headers.getFirst(NEXT_CURSOR_HEADER) != null) return false;
+        if (query.getCursor() != null) return true;
+
+        final var page = headers.getFirst(PAGE_HEADER);
+        final var total = headers.getFirst(TOTAL_COUNT_HEADER);
+        if (page == null && total == null) return true;
+        if (page != null && !page.equals(String.valueOf(query.getPage()))) return true;
+        if (total != null) return (long) (query.getPage() + 1) * query.getSize() >= Long.parseLong(total);
+        return received < query.getSize();
+    }
+
+    private static boolean repeats(TaskPage previous, TaskPage next) {
+        return !next.getItems().isEmpty() && taskIds(next).equals(taskIds(previous));
+    }
+
+    private static List<String> taskIds(TaskPage page) {
+        return page.getItems().stream().map(Task::getId).toList();
+    }
+
+    private static URI taskPageUri(UriBuilder uriBuilder, TaskQuery query) {
+        if (query.getCursor() != null) uriBuilder.queryParam("cursor", query.getCursor());
+        else uriBuilder.queryParam("page", query.getPage());
+
+        uriBuilder.queryParam("size", query.getSize());
+        if (query.getStatus() != null) uriBuilder.queryParam("status", query.getStatus());
+        if (query.isIncludeDeleted()) uriBuilder.queryParam("includeDeleted", true);
+        if (query.getUpdatedSince() != null) uriBuilder.queryParam("updatedSince", query.getUpdatedSince());
+        return uriBuilder.build();
+    }
+
+    /*
+     * updateTime is local time without a zone, read in the zone of this client as everywhere else.
+     */
+    private static void preconditions(HttpHeaders headers, TaskPatch taskPatch) {
+        if (taskPatch.getExpectedETag() != null) headers.setIfMatch(taskPatch.getExpectedETag());
+        if (taskPatch.getExpectedUpdateTime() != null)
+            headers.setIfUnmodifiedSince(LocalDateTime.parse(taskPatch.getExpectedUpdateTime()).atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * Gets the task from the server application using UUID in String format.
+     *
+     * @param taskId which is the UUID in String format.
+     * @return Returns a Mono that emits a singular Task model, or fails with TaskNotFoundException.
+     */
+    public Mono<Task> getTaskById(String taskId) {
+        return metrics.timed(ScrumBoardOperation.GET, lookupTaskById(taskId)
+                .flatMap(lookup -> lookup.getTask() != null
+                        ? Mono.just(lookup.getTask())
+                        : Mono.<Task>error(TaskNotFoundException.withoutStackTrace(lookup.getNotFoundMessage()))));
+    }
+
+    /**
+     * Looks the task up without treating a missing task as an error.
+     *
+     * @param taskId which is the UUID in String format.
+     * @return Returns a Mono that emits the Task model, or an empty Optional when the server does not know the id.
+     */
+    public Mono<Optional<Task>> findTaskById(String taskId) {
+        return metrics.timed(ScrumBoardOperation.GET, lookupTaskById(taskId)
+                .map(lookup -> Optional.ofNullable(lookup.getTask())));
+    }
+
+    /**
+     * Same as {@link #getTaskById(String)}, kept for existing callers.
+     */
+    public Mono<Task> getTaskByIdErrorMap(String taskId) {
+        return getTaskById(taskId);
+    }
+
+    /*
+     * When the task cache is enabled, fresh entries are answered locally and stale ones are revalidated
+     * with a conditional GET. Concurrent lookups of one id share a single call, which may be hedged, and each
+     * gets its own copy of the task.
+     */
+    private Mono<TaskLookup> lookupTaskById(String taskId) {
+        if (!taskCache.isEnabled())
+            return taskLookups.execute(taskId, () -> hedgedTaskById(taskId, null)).map(TaskLookup::copy);
+
+        return Mono.defer(() -> {
+            final var cached = taskCache.lookup(taskId);
+            if (cached != null && cached.isFresh()) {
+                taskCache.recordHit();
+                return Mono.just(TaskLookup.found(cached.getTask()));
+            }
+            return taskLookups.execute(taskId, () -> hedgedTaskById(taskId, cached)).map(TaskLookup::copy);
+        });
+    }
+
+    private Mono<TaskLookup> hedgedTaskById(String taskId, TaskCache.Entry cached) {
+        return hedging.hedge(ScrumBoardOperation.GET,
+                guarded(ScrumBoardOperation.GET, backendUrl -> exchangeTaskById(backendUrl, taskId, cached)));
+    }
+
+    // Reference: https://developer.mozilla.org/en-US/docs/Web/HTTP/Conditional_requests
+    private Mono<TaskLookup> exchangeTaskById(String backendUrl, String taskId, TaskCache.Entry cached) {
+        final long generation = taskCache.generation(taskId);
+        return scrumBoardClient.get()
+                .uri(backendUrl + "/{taskId}", taskId)
+                .headers(headers -> {
+                    if (cached == null) return;
+                    if (cached.getETag() != null) headers.setIfNoneMatch(cached.getETag());
+                    else if (cached.getLastModified() >= 0) headers.setIfModifiedSince(cached.getLastModified());
+                })
+                .exchangeToMono(response -> {
+                    HttpStatusCode status = response.statusCode();
+                    if (cached != null && status.isSameCodeAs(HttpStatus.NOT_MODIFIED))
+                        return response.releaseBody()
+                                .then(Mono.fromSupplier(() -> TaskLookup.found(taskCache.revalidated(taskId, cached, generation))));
+
+                    if (status.is2xxSuccessful()) {
+                        if (!taskCache.isEnabled())
+                            return response.bodyToMono(Task.class).doOnNext(notifier::taskSaved).map(TaskLookup::found);
+
+                        taskCache.recordMiss();
+                        final var headers = response.headers().asHttpHeaders();
+                        return response.bodyToMono(Task.class)
+                                .doOnNext(task -> taskCache.store(taskId, task, headers.getETag(), headers.getLastModified(), generation))
+                                .doOnNext(notifier::taskSaved)
+                                .map(TaskLookup::found);
+                    }
+
+                    if (status.isSameCodeAs(HttpStatus.NOT_FOUND))
+                        return response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .doOnNext(body -> notifier.taskDeleted(taskId))
+                                .map(TaskLookup::notFound);
+
+                    return ScrumBoardErrors.error(ScrumBoardOperation.GET, response);
+                });
+    }
+
+    public Mono<Task> createTask(TaskRequestDTO taskRequestDTO) {
+        final Function<String, Mono<Task>> request = backendUrl -> scrumBoardClient.post()
+                .uri(backendUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.CREATE))
+                .bodyToMono(Task.class);
+
+        return metrics.timed(ScrumBoardOperation.CREATE, guarded(ScrumBoardOperation.CREATE, request))
+                .doOnNext(notifier::taskSaved);
+    }
+
+    /**
+     * Same as {@link #createTask(TaskRequestDTO)}, kept for existing callers.
+     */
+    public Mono<Task> createTaskErrorMap(TaskRequestDTO taskRequestDTO) {
+        return createTask(taskRequestDTO);
+    }
+
+    public Mono<Void> deleteTask(String taskId) {
+        final Function<String, Mono<Void>> request = backendUrl -> scrumBoardClient.delete()
+                .uri(backendUrl + "/{taskId}", taskId)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.DELETE))
+                .toBodilessEntity()
+                .then();
+
+        return metrics.timed(ScrumBoardOperation.DELETE, guarded(ScrumBoardOperation.DELETE, request))
+                .doOnSuccess(done -> notifier.taskDeleted(taskId))
+                .doFinally(signal -> taskCache.invalidate(taskId));
+    }
+
+    /**
+     * Same as {@link #deleteTask(String)}, kept for existing callers.
+     */
+    public Mono<Void> deleteTaskErrorMap(String taskId) {
+        return deleteTask(taskId);
+    }
+
+    public Mono<Task> updateTask(String taskId, TaskRequestDTO taskRequestDTO) {
+        final Function<String, Mono<Task>> request = backendUrl -> scrumBoardClient.put()
+                .uri(backendUrl + "/{taskId}", taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequestDTO)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.UPDATE))
+                .bodyToMono(Task.class);
+
+        return metrics.timed(ScrumBoardOperation.UPDATE, guarded(ScrumBoardOperation.UPDATE, request))
+                .doOnNext(notifier::taskSaved)
+                .doFinally(signal -> taskCache.invalidate(taskId));
+    }
+
+    /**
+     * Changes only the fields set in the patch, so no GET is needed first to keep the others.
+     * A conditional patch is not retried: when the first attempt went through, the retry would fail its precondition.
+     *
+     * @param taskId which is the UUID in String format.
+     * @return Returns the Task model after the change.
+     */
+    public Mono<Task> patchTask(String taskId, TaskPatch taskPatch) {
+        final Function<String, Mono<Task>> request = backendUrl -> scrumBoardClient.patch()
+                .uri(backendUrl + "/{taskId}", taskId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> preconditions(headers, taskPatch))
+                .bodyValue(taskPatch)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.PATCH))
+                .bodyToMono(Task.class);
+
+        return metrics.timed(ScrumBoardOperation.PATCH, guarded(ScrumBoardOperation.PATCH, request))
+                .doOnNext(notifier::taskSaved)
+                .doFinally(signal -> taskCache.invalidate(taskId));
+    }
+
+    /**
+     * Moves a task to another column, sending only the status.
+     *
+     * @param taskId which is the UUID in String format.
+     */
+    public Mono<Task> updateStatus(String taskId, String status) {
+        return patchTask(taskId, TaskPatch.builder().status(status).build());
+    }
+
+    /**
+     * Same as {@link #updateTask(String, TaskRequestDTO)}, kept for existing callers.
+     */
+    public Mono<Task> updateTaskErrorMap(String taskId, TaskRequestDTO taskRequestDTO) {
+        return updateTask(taskId, taskRequestDTO);
+    }
+
+    /**
+     * Creates every task, at most {@code scrumboard.client.bulk.concurrency} at a time.
+     * Uses the batch endpoint instead when {@code scrumboard.client.bulk.batch-create-path} is set.
+     *
+     * @return Returns one result per request, in the same order. Failures do not stop the other items.
+     */
+    public Flux<BulkItemResult<TaskRequestDTO, Task>> createTasks(Collection<TaskRequestDTO> taskRequestDTOs) {
+        if (StringUtils.hasText(bulk.getBatchCreatePath())) return createTasksInBatches(taskRequestDTOs);
+
+        return bulk(taskRequestDTOs, this::createTask);
+    }
+
+    /**
+     * Updates every task in the map, keyed by task id, at most {@code scrumboard.client.bulk.concurrency} at a time.
+     *
+     * @return Returns one result per task id, in the iteration order of the map.
+     */
+    public Flux<BulkItemResult<String, Task>> updateTasks(Map<String, TaskRequestDTO> taskRequestDTOs) {
+        return bulk(taskRequestDTOs.keySet(), taskId -> updateTask(taskId, taskRequestDTOs.get(taskId)));
+    }
+
+    /**
+     * Deletes every task, at most {@code scrumboard.client.bulk.concurrency} at a time.
+     *
+     * @return Returns one result per task id, in the same order.
+     */
+    public Flux<BulkItemResult<String, Void>> deleteTasks(Collection<String> taskIds) {
+        return bulk(taskIds, this::deleteTask);
+    }
+
+    private <K, V> Flux<BulkItemResult<K, V>> bulk(Collection<K> keys, Function<K, Mono<V>> call) {
+        return rateLimited(Flux.fromIterable(keys))
+                .flatMapSequential(key -> call.apply(key)
+                                .map(value -> BulkItemResult.<K, V>success(key, value))
+                                .switchIfEmpty(Mono.fromSupplier(() -> BulkItemResult.<K, V>success(key, null)))
+                                .onErrorResume(error -> Mono.just(BulkItemResult.<K, V>failure(key, error))),
+                        bulk.getConcurrency());
+    }
+
+    private Flux<BulkItemResult<TaskRequestDTO, Task>> createTasksInBatches(Collection<TaskRequestDTO> taskRequestDTOs) {
+        return rateLimited(Flux.fromIterable(taskRequestDTOs).buffer(bulk.getBatchSize()))
+                .flatMapSequential(batch -> postBatch(batch)
+                                .collectList()
+                                .flatMapMany(tasks -> Flux.range(0, batch.size())
+                                        .map(i -> i < tasks.size()
+                                                ? BulkItemResult.<TaskRequestDTO, Task>success(batch.get(i), tasks.get(i))
+                                                : BulkItemResult.<TaskRequestDTO, Task>failure(batch.get(i),
+                                                        new RuntimeException("The batch response has no task for this request."))))
+                                .onErrorResume(error -> Flux.fromIterable(batch)
+                                        .map(request -> BulkItemResult.<TaskRequestDTO, Task>failure(request, error))),
+                        Math.max(1, bulk.getConcurrency() / bulk.getBatchSize()));
+    }
+
+    private Flux<Task> postBatch(List<TaskRequestDTO> batch) {
+        final Function<String, Flux<Task>> request = backendUrl -> scrumBoardClient.post()
+                .uri(backendUrl + bulk.getBatchCreatePath())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, ScrumBoardErrors.handlerFor(ScrumBoardOperation.CREATE))
+                .bodyToFlux(Task.class);
+
+        return guardedFlux(ScrumBoardOperation.CREATE, request).doOnNext(notifier::taskSaved);
+    }
+
+    /*
+     * Every call to the server goes through the resilience layer and carries its operation in the Reactor context,
+     * which is where the connection level hooks (timeouts, response size meter) read it.
+     * The backend URL is chosen by the load balancer on each attempt, so a retry can go to another backend.
+     * Each attempt also takes a slot of the adaptive concurrency limit.
+     */
+    private <T> Mono<T> guarded(ScrumBoardOperation operation, Function<String, Mono<T>> request) {
+        return resilience.decorate(operation, limiter.limit(loadBalancer.call(request)))
+                .contextWrite(operation::putInto);
+    }
+
+    private <T> Flux<T> guardedFlux(ScrumBoardOperation operation, Function<String, Flux<T>> request) {
+        return resilience.decorate(operation, limiter.limitFlux(loadBalancer.stream(request)))
+                .contextWrite(operation::putInto);
+    }
+
+    private <T> Flux<T> rateLimited(Flux<T> items) {
+        if (bulk.getRatePerSecond() <= 0) return items;
+        return items.delayElements(Duration.ofNanos(1_000_000_000L / bulk.getRatePerSecond()));
+    }
+
+    /**
+     * Result of a lookup by id. Either the task or the body of the 404 response is set.
+     */
+    @Value
+    private static class TaskLookup {
+        Task task;
+        String notFoundMessage;
+
+        static TaskLookup found(Task task) {
+            return new TaskLookup(task, null);
+        }
+
+        static TaskLookup notFound(String message) {
+            return new TaskLookup(null, message);
+        }
+
+        TaskLookup copy() {
+            return task == null ? this : found(task.copy());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.exception.InvalidTaskRequestException;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.exception.TaskAlreadyDeletedException;
+import com.pagejump.scrumboardwebclient.exception.TaskNotFoundException;
+import com.pagejump.scrumboardwebclient.exception.TaskPreconditionFailedException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Status code to exception mapping shared by every call to the SCRUM Board Server Application.
+ * The tables and the onStatus handlers are built once, and none of the mapped exceptions capture a stack trace.
+ */
+final class ScrumBoardErrors {
+    private static final int STATUS_LIMIT = 600;
+
+    private static final Map<ScrumBoardOperation, Function<String, RuntimeException>[]> TABLES =
+            new EnumMap<>(ScrumBoardOperation.class);
+    private static final Map<ScrumBoardOperation, Function<ClientResponse, Mono<? extends Throwable>>> HANDLERS =
+            new EnumMap<>(ScrumBoardOperation.class);
+
+    static {
+        for (ScrumBoardOperation operation : ScrumBoardOperation.values()) {
+            TABLES.put(operation, emptyTable());
+            HANDLERS.put(operation, response -> exceptionFor(operation, response));
+        }
+
+        map(ScrumBoardOperation.GET, 404, TaskNotFoundException::withoutStackTrace);
+
+        for (int status = 400; status < 500; status++)
+            map(ScrumBoardOperation.CREATE, status, InvalidTaskRequestException::withoutStackTrace);
+
+        map(ScrumBoardOperation.UPDATE, 422, InvalidTaskRequestException::withoutStackTrace);
+        map(ScrumBoardOperation.UPDATE, 404, TaskNotFoundException::withoutStackTrace);
+        map(ScrumBoardOperation.UPDATE, 400, TaskAlreadyDeletedException::withoutStackTrace);
+
+        map(ScrumBoardOperation.PATCH, 422, InvalidTaskRequestException::withoutStackTrace);
+        map(ScrumBoardOperation.PATCH, 404, TaskNotFoundException::withoutStackTrace);
+        map(ScrumBoardOperation.PATCH, 400, TaskAlreadyDeletedException::withoutStackTrace);
+        map(ScrumBoardOperation.PATCH, 412, TaskPreconditionFailedException::withoutStackTrace);
+
+        map(ScrumBoardOperation.DELETE, 404, TaskNotFoundException::withoutStackTrace);
+        map(ScrumBoardOperation.DELETE, 400, TaskAlreadyDeletedException::withoutStackTrace);
+    }
+
+    private ScrumBoardErrors() {
+    }
+
+    /**
+     * @return Returns the prebuilt handler for {@code retrieve().onStatus(HttpStatusCode::isError, ...)}.
+     */
+    static Function<ClientResponse, Mono<? extends Throwable>> handlerFor(ScrumBoardOperation operation) {
+        return HANDLERS.get(operation);
+    }
+
+    /**
+     * Turns an error response into the failed Mono of an exchange.
+     */
+    static <T> Mono<T> error(ScrumBoardOperation operation, ClientResponse response) {
+        return exceptionFor(operation, response).flatMap(error -> Mono.<T>error(error));
+    }
+
+    /**
+     * Mapped statuses get their exception with the response body as message, other 5xx statuses get a
+     * {@link ScrumBoardServerException}. Anything else stays a plain RuntimeException, as before the mapping was
+     * shared, with the message of WebClient's exception, e.g. "403 Forbidden from GET http://...".
+     */
+    static Mono<? extends Throwable> exceptionFor(ScrumBoardOperation operation, ClientResponse response) {
+        final int status = response.statusCode().value();
+        final var factory = status < STATUS_LIMIT ? TABLES.get(operation)[status] : null;
+
+        if (factory != null) return response.bodyToMono(String.class).defaultIfEmpty("").map(factory);
+        if (response.statusCode().is5xxServerError())
+            return response.releaseBody()
+                    .then(Mono.fromSupplier(() -> ScrumBoardServerException.withoutStackTrace(ScrumBoardServerException.NOT_RESPONDING)));
+
+        return response.createException().map(error -> new RuntimeException(error.getMessage()));
+    }
+
+    private static void map(ScrumBoardOperation operation, int status, Function<String, RuntimeException> factory) {
+        TABLES.get(operation)[status] = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, RuntimeException>[] emptyTable() {
+        return (Function<String, RuntimeException>[]) new Function[STATUS_LIMIT];
+    }
+}
@@ -0,0 +1,26 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * The calls that can be made to the SCRUM Board Server Application.
+ * The operation of a call travels in the Reactor context so that connection level hooks can tell calls apart.
+ */
+public enum ScrumBoardOperation {
+    LIST, GET, CREATE, UPDATE, PATCH, DELETE;
+
+    /**
+     * Marks a Reactor context with this operation. Meant for {@code contextWrite(ScrumBoardOperation.GET::putInto)}.
+     */
+    public Context putInto(Context context) {
+        return context.put(ScrumBoardOperation.class, this);
+    }
+
+    /**
+     * @return Returns the operation stored in the context, or null when the call was not made by the services.
+     */
+    public static ScrumBoardOperation from(ContextView context) {
+        return context.getOrDefault(ScrumBoardOperation.class, null);
+    }
+}
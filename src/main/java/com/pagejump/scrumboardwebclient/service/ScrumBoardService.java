@@ -1,67 +1,101 @@
 package com.pagejump.scrumboardwebclient.service;
 
+import com.pagejump.scrumboardwebclient.dto.BulkResult;
+import com.pagejump.scrumboardwebclient.dto.TaskPage;
+import com.pagejump.scrumboardwebclient.dto.TaskPatch;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
 import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
-import com.pagejump.scrumboardwebclient.exception.InvalidTaskRequestException;
-import com.pagejump.scrumboardwebclient.exception.TaskAlreadyDeletedException;
-import com.pagejump.scrumboardwebclient.exception.TaskNotFoundException;
+import com.pagejump.scrumboardwebclient.model.CompactTask;
 import com.pagejump.scrumboardwebclient.model.Task;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class calls API calls in the SCRUM Board Server Application
+ * Each method blocks on the matching call of {@link ReactiveScrumBoardService}.
  * @author antonbondoc
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ScrumBoardService {
-    /*
-     * References for error handling:
-     * https://www.baeldung.com/spring-webclient-get-response-body
-     * https://medium.com/swlh/spring-boot-webclient-cheat-sheet-5be26cfa3e
-     * https://medium.com/nerd-for-tech/webclient-error-handling-made-easy-4062dcf58c49
-     */
 
-    final private WebClient scrumBoardClient;
+    private static final int STREAM_PREFETCH = 256;
+
+    final private ReactiveScrumBoardService reactiveScrumBoardService;
 
     /**
      * Gets all the available tasks in the server application
      *
-     * @return Returns a list of Task models.
+     * @return Returns an unmodifiable list of Task models.
      */
     public List<Task> getAllTasks() {
-        return scrumBoardClient.get()
-                .retrieve()
-                .onStatus(
-                        HttpStatusCode::is5xxServerError,
-                        error -> Mono.error(new RuntimeException("Server is not responding."))
-                )
-                .bodyToFlux(Task.class)
-                .collectList()
-                .block();
+        return reactiveScrumBoardService.getAllTasksAsList().block();
     }
 
     public List<Task> getAllTasksErrorMap() {
-        return scrumBoardClient.get()
-                .retrieve()
-                .bodyToFlux(Task.class)
-                .onErrorMap(WebClientResponseException.class,
-                        error -> new RuntimeException(error.getMessage())
-                )
-                .collectList()
+        return reactiveScrumBoardService.getAllTasksAsList().block();
+    }
+
+    /**
+     * Streams all the available tasks in the server application.
+     * At most {@value #STREAM_PREFETCH} decoded tasks are buffered ahead of the caller.
+     * The stream should be closed when not fully consumed, which cancels the HTTP call.
+     *
+     * @return Returns a lazily populated Stream of Task models.
+     */
+    public Stream<Task> streamAllTasks() {
+        return reactiveScrumBoardService.getAllTasks().toStream(STREAM_PREFETCH);
+    }
+
+    /**
+     * Streams all the available tasks in the compact form, with parsed status and timestamps.
+     *
+     * @return Returns a lazily populated Stream of CompactTask models.
+     */
+    public Stream<CompactTask> streamAllCompactTasks() {
+        return reactiveScrumBoardService.getAllCompactTasks().toStream(STREAM_PREFETCH);
+    }
+
+    /**
+     * Passes every available task to the consumer as soon as it is decoded.
+     *
+     * @param taskConsumer which receives each Task model in server order.
+     */
+    public void forEachTask(Consumer<Task> taskConsumer) {
+        reactiveScrumBoardService.getAllTasks()
+                .doOnNext(taskConsumer)
+                .then()
                 .block();
     }
 
+    /**
+     * Gets one page of the tasks matching the query.
+     *
+     * @return Returns the filtered TaskPage.
+     */
+    public TaskPage getTaskPage(TaskQuery query) {
+        return reactiveScrumBoardService.getTaskPage(query).block();
+    }
+
+    /**
+     * Streams every task matching the query, fetching the pages as the stream is consumed.
+     * The stream should be closed when not fully consumed.
+     *
+     * @return Returns a lazily populated Stream of Task models.
+     */
+    public Stream<Task> streamTasks(TaskQuery query) {
+        return reactiveScrumBoardService.listTasks(query).toStream(STREAM_PREFETCH);
+    }
+
     /**
      * Gets the task from the server application using UUID in String format.
      *
@@ -69,160 +103,73 @@ public class ScrumBoardService {
      * @return Returns a singular Task model
      */
     public Task getTaskById(String taskId) {
-        return scrumBoardClient.get()
-                .uri("/" + taskId)
-                .retrieve()
-                .onStatus(HttpStatus.NOT_FOUND::equals,
-                        error -> error.bodyToMono(String.class).map(TaskNotFoundException::new)
-                )
-                .onStatus(HttpStatusCode::is5xxServerError,
-                        error -> Mono.error(new RuntimeException("Server is not responding."))
-                )
-                .onStatus(
-                        HttpStatusCode::isError,
-                        error -> Mono.error(new RuntimeException(error.toString()))
-                )
-                .bodyToMono(Task.class)
-                .block();
+        return reactiveScrumBoardService.getTaskById(taskId).block();
+    }
+
+    /**
+     * Looks the task up without throwing when it does not exist.
+     *
+     * @param taskId which is the UUID in String format.
+     * @return Returns the Task model, or an empty Optional when the server does not know the id.
+     */
+    public Optional<Task> findTaskById(String taskId) {
+        return reactiveScrumBoardService.findTaskById(taskId).block();
     }
 
     public Task getTaskByIdErrorMap(String taskId) {
-        return scrumBoardClient.get()
-                .uri("/" + taskId)
-                .retrieve()
-                .bodyToMono(Task.class)
-                .onErrorMap(WebClientResponseException.class,
-                        error -> {
-                            HttpStatusCode status = error.getStatusCode();
-                            String message = error.getResponseBodyAsString();
-                            if (status.isSameCodeAs(HttpStatus.NOT_FOUND)) throw new TaskNotFoundException(message);
-
-                            throw new RuntimeException(error.getMessage());
-                        }
-                )
-                .block();
+        return reactiveScrumBoardService.getTaskByIdErrorMap(taskId).block();
     }
 
     public Task createTask(TaskRequestDTO taskRequestDTO) {
-        return scrumBoardClient.post()
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(taskRequestDTO), TaskRequestDTO.class)
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError,
-                        error -> error.bodyToMono(String.class).map(InvalidTaskRequestException::new)
-                )
-                .onStatus(HttpStatusCode::is5xxServerError,
-                        error -> Mono.error(new RuntimeException("Server is not responding."))
-                )
-                .bodyToMono(Task.class)
-                .block();
+        return reactiveScrumBoardService.createTask(taskRequestDTO).block();
     }
 
     public Task createTaskErrorMap(TaskRequestDTO taskRequestDTO) {
-        return scrumBoardClient.post()
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(taskRequestDTO), TaskRequestDTO.class)
-                .retrieve()
-                .bodyToMono(Task.class)
-                .onErrorMap(WebClientResponseException.class,
-                        error -> {
-                            HttpStatusCode status = error.getStatusCode();
-                            if (status.isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY))
-                                throw new InvalidTaskRequestException(error.getResponseBodyAsString());
-
-                            throw new RuntimeException(error.getMessage());
-                        }
-                )
-                .block();
+        return reactiveScrumBoardService.createTaskErrorMap(taskRequestDTO).block();
     }
 
     public void deleteTask(String taskId) {
-        scrumBoardClient.delete()
-                .uri("/" + taskId)
-                .retrieve()
-                .onStatus(HttpStatus.NOT_FOUND::equals,
-                        error -> error.bodyToMono(String.class).map(TaskNotFoundException::new)
-                )
-                .onStatus(HttpStatus.BAD_REQUEST::equals,
-                        error -> error.bodyToMono(String.class).map(TaskAlreadyDeletedException::new)
-                )
-                .onStatus(HttpStatusCode::is5xxServerError,
-                        error -> Mono.error(new RuntimeException("Server is not responding."))
-                )
-                .toBodilessEntity()
-                .block();
+        reactiveScrumBoardService.deleteTask(taskId).block();
     }
 
     public void deleteTaskErrorMap(String taskId) {
-        scrumBoardClient.delete()
-                .uri("/" + taskId)
-                .retrieve()
-                .toBodilessEntity()
-                .onErrorMap(WebClientResponseException.class,
-                        error -> {
-                            HttpStatusCode status = error.getStatusCode();
-                            String message = error.getResponseBodyAsString();
-                            if (status.is4xxClientError()) {
-                                if (status.isSameCodeAs(HttpStatus.NOT_FOUND))
-                                    throw new TaskNotFoundException(message);
-                                if (status.isSameCodeAs(HttpStatus.BAD_REQUEST))
-                                    throw new TaskAlreadyDeletedException(message);
-                            }
-                            throw new RuntimeException(error.getMessage());
-                        }
-                )
-                .block();
+        reactiveScrumBoardService.deleteTaskErrorMap(taskId).block();
     }
 
     public Task updateTask(String taskId, TaskRequestDTO taskRequestDTO) {
-        return scrumBoardClient.put()
-                .uri("/" + taskId)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(taskRequestDTO), TaskRequestDTO.class)
-                .retrieve()
-                .onStatus(HttpStatus.UNPROCESSABLE_ENTITY::equals,
-                        error -> error.bodyToMono(String.class).map(InvalidTaskRequestException::new)
-                )
-                .onStatus(HttpStatus.NOT_FOUND::equals,
-                        error -> error.bodyToMono(String.class).map(TaskNotFoundException::new)
-                )
-                .onStatus(HttpStatus.BAD_REQUEST::equals,
-                        error -> error.bodyToMono(String.class).map(TaskAlreadyDeletedException::new)
-                )
-                .onStatus(HttpStatusCode::is5xxServerError,
-                        error -> Mono.error(new RuntimeException("Server is not responding."))
-                )
-                .bodyToMono(Task.class)
-                .block();
+        return reactiveScrumBoardService.updateTask(taskId, taskRequestDTO).block();
     }
 
     public Task updateTaskErrorMap(String taskId, TaskRequestDTO taskRequestDTO) {
-        return scrumBoardClient.put()
-                .uri("/" + taskId)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(Mono.just(taskRequestDTO), TaskRequestDTO.class)
-                .retrieve()
-                .bodyToMono(Task.class)
-                .onErrorMap(WebClientResponseException.class,
-                        error -> {
-                            HttpStatusCode status = error.getStatusCode();
-                            String message = error.getResponseBodyAsString();
-                            if (status.is5xxServerError()) {
-                                if (status.isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY))
-                                    throw new InvalidTaskRequestException(message);
-                                if (status.isSameCodeAs(HttpStatus.NOT_FOUND))
-                                    throw new TaskNotFoundException(message);
-                                if (status.isSameCodeAs(HttpStatus.BAD_REQUEST))
-                                    throw new TaskAlreadyDeletedException(message);
-                            }
-
-                            throw new RuntimeException(error.getMessage());
-                        }
-                )
-                .block();
+        return reactiveScrumBoardService.updateTaskErrorMap(taskId, taskRequestDTO).block();
+    }
+
+    /**
+     * Changes only the fields set in the patch. A conditional patch throws TaskPreconditionFailedException when the
+     * task changed since it was read.
+     */
+    public Task patchTask(String taskId, TaskPatch taskPatch) {
+        return reactiveScrumBoardService.patchTask(taskId, taskPatch).block();
+    }
+
+    public Task updateStatus(String taskId, String status) {
+        return reactiveScrumBoardService.updateStatus(taskId, status).block();
+    }
+
+    /**
+     * Creates every task with bounded concurrency. A failing item does not stop the others.
+     *
+     * @return Returns a report with one result per request, in the same order.
+     */
+    public BulkResult<TaskRequestDTO, Task> createTasks(Collection<TaskRequestDTO> taskRequestDTOs) {
+        return new BulkResult<>(reactiveScrumBoardService.createTasks(taskRequestDTOs).collectList().block());
+    }
+
+    public BulkResult<String, Task> updateTasks(Map<String, TaskRequestDTO> taskRequestDTOs) {
+        return new BulkResult<>(reactiveScrumBoardService.updateTasks(taskRequestDTOs).collectList().block());
+    }
+
+    public BulkResult<String, Void> deleteTasks(Collection<String> taskIds) {
+        return new BulkResult<>(reactiveScrumBoardService.deleteTasks(taskIds).collectList().block());
     }
 }
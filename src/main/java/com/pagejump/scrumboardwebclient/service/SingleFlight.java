@@ -0,0 +1,33 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one call to the server.
+ * The first subscriber for a key starts the call, anyone subscribing before it finishes gets the same result.
+ * Only meant for reads, a mutation must always reach the server.
+ */
+final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    SingleFlight(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        if (!enabled) return call.get();
+
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> call.get()
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+
+/**
+ * Receives the tasks that pass through {@link ReactiveScrumBoardService}.
+ * Called on the thread that decoded the response, so implementations should return quickly.
+ */
+public interface TaskChangeListener {
+
+    /**
+     * A task was fetched, created or updated. The task may have deleted set to true.
+     */
+    default void onTaskSaved(Task task) {
+    }
+
+    /**
+     * A task was deleted through the service, or the server answered 404 for it.
+     */
+    default void onTaskDeleted(String taskId) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Passes the tasks seen by the services on to the registered listeners.
+ * A failing listener is logged and does not affect the call or the other listeners.
+ */
+@Component
+@Slf4j
+public class TaskChangeNotifier {
+    final private List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void register(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unregister(TaskChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    void taskSaved(Task task) {
+        for (TaskChangeListener listener : listeners) {
+            try {
+                listener.onTaskSaved(task);
+            } catch (RuntimeException e) {
+                log.warn("Task listener {} failed for task {}", listener, task.getId(), e);
+            }
+        }
+    }
+
+    void taskDeleted(String taskId) {
+        for (TaskChangeListener listener : listeners) {
+            try {
+                listener.onTaskDeleted(taskId);
+            } catch (RuntimeException e) {
+                log.warn("Task listener {} failed for deleted task {}", listener, taskId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.pagejump.scrumboardwebclient.statistics;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.model.TaskStatus;
+import com.pagejump.scrumboardwebclient.replica.BoardChangeListener;
+import com.pagejump.scrumboardwebclient.replica.TaskBoardReplica;
+import com.pagejump.scrumboardwebclient.service.TaskChangeListener;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts of the tasks seen through the services: per status, deleted, and by age since creation.
+ * The counts are updated as tasks are fetched, created, updated and deleted, so reading them is a single atomic
+ * read. They only cover the tasks the services have seen, e.g. after one getAllTasks or with the replica enabled.
+ * Tasks move to an older age bucket on a pass every minute over the tracked tasks, without calling the server.
+ * <p>
+ * Tasks deleted by other clients are only seen through listings, so with the replica enabled the counts also follow
+ * its changes: a task that leaves the replica, e.g. removed by a full load, is taken out of the counts. Deleted
+ * tasks are kept as their id only, so listing them again does not count them twice.
+ */
+@Component
+public class TaskBoardStatistics implements TaskChangeListener, BoardChangeListener {
+    private static final List<Duration> AGE_LIMITS = List.of(Duration.ofDays(1), Duration.ofDays(7), Duration.ofDays(30));
+    private static final Duration AGE_REFRESH_INTERVAL = Duration.ofMinutes(1);
+    private static final int UNKNOWN_AGE = -1;
+
+    final private TaskChangeNotifier notifier;
+    final private ObjectProvider<TaskBoardReplica> replica;
+    final private Map<String, Tracked> tasks = new ConcurrentHashMap<>();
+    final private AtomicLongArray statusCounts = new AtomicLongArray(TaskStatus.values().length);
+    final private AtomicLongArray ageCounts = new AtomicLongArray(AGE_LIMITS.size() + 1);
+    final private AtomicLong activeCount = new AtomicLong();
+    final private AtomicLong deletedCount = new AtomicLong();
+    private Disposable ageRefresh;
+
+    public TaskBoardStatistics(TaskChangeNotifier notifier, ObjectProvider<TaskBoardReplica> replica,
+                               MeterRegistry meterRegistry) {
+        this.notifier = notifier;
+        this.replica = replica;
+
+        for (TaskStatus status : TaskStatus.values())
+            Gauge.builder("scrumboard.board.tasks", statusCounts, counts -> counts.get(status.ordinal()))
+                    .description("Tasks that are not deleted, per status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        Gauge.builder("scrumboard.board.tasks.deleted", deletedCount, AtomicLong::get)
+                .description("Deleted tasks")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        notifier.register(this);
+        replica.ifAvailable(board -> board.addListener(this));
+        ageRefresh = Flux.interval(AGE_REFRESH_INTERVAL)
+                .onBackpressureDrop()
+                .subscribe(tick -> refreshAges(System.currentTimeMillis()));
+    }
+
+    @PreDestroy
+    void stop() {
+        notifier.unregister(this);
+        replica.ifAvailable(board -> board.removeListener(this));
+        if (ageRefresh != null) ageRefresh.dispose();
+    }
+
+    /**
+     * @return Returns the number of tasks in the column, deleted tasks excluded.
+     */
+    public long count(TaskStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    public long countActive() {
+        return activeCount.get();
+    }
+
+    public long countDeleted() {
+        return deletedCount.get();
+    }
+
+    /**
+     * Active tasks per age since creation: younger than each of {@link #getAgeLimits()}, then the older ones.
+     * Tasks without a creation time are not counted.
+     */
+    public long countByAge(int bucket) {
+        return ageCounts.get(bucket);
+    }
+
+    public List<Duration> getAgeLimits() {
+        return AGE_LIMITS;
+    }
+
+    @Override
+    public void onTaskSaved(Task task) {
+        if (task.getId() == null) return;
+        final var next = track(task, System.currentTimeMillis());
+        tasks.compute(task.getId(), (taskId, previous) -> {
+            if (previous != null && previous.isDeleted() && next.isDeleted()) return previous;
+            remove(previous);
+            add(next);
+            return next;
+        });
+    }
+
+    @Override
+    public void onTaskDeleted(String taskId) {
+        tasks.compute(taskId, (id, previous) -> {
+            if (previous != null && previous.isDeleted()) return previous;
+            remove(previous);
+            add(Tracked.DELETED);
+            return Tracked.DELETED;
+        });
+    }
+
+    /**
+     * Takes a task that left the replica out of the counts. Deleted tasks stay counted, so that the deleted count
+     * does not depend on whether the replica or these statistics heard of the deletion first.
+     */
+    @Override
+    public void onTaskChanged(Task previous, Task current) {
+        if (current != null || previous == null || previous.getId() == null) return;
+        tasks.computeIfPresent(previous.getId(), (id, tracked) -> {
+            if (tracked.isDeleted()) return tracked;
+            remove(tracked);
+            return null;
+        });
+    }
+
+    void refreshAges(long now) {
+        for (String taskId : tasks.keySet()) {
+            tasks.computeIfPresent(taskId, (id, tracked) -> {
+                if (tracked.isDeleted() || tracked.getAgeBucket() == UNKNOWN_AGE) return tracked;
+                final int bucket = ageBucket(tracked.getCreatedMillis(), now);
+                if (bucket == tracked.getAgeBucket()) return tracked;
+
+                ageCounts.decrementAndGet(tracked.getAgeBucket());
+                ageCounts.incrementAndGet(bucket);
+                return new Tracked(tracked.getStatus(), false, tracked.getCreatedMillis(), bucket);
+            });
+        }
+    }
+
+    private void add(Tracked tracked) {
+        if (tracked.isDeleted()) {
+            deletedCount.incrementAndGet();
+            return;
+        }
+        activeCount.incrementAndGet();
+        statusCounts.incrementAndGet(tracked.getStatus());
+        if (tracked.getAgeBucket() != UNKNOWN_AGE) ageCounts.incrementAndGet(tracked.getAgeBucket());
+    }
+
+    private void remove(Tracked tracked) {
+        if (tracked == null) return;
+        if (tracked.isDeleted()) {
+            deletedCount.decrementAndGet();
+            return;
+        }
+        activeCount.decrementAndGet();
+        statusCounts.decrementAndGet(tracked.getStatus());
+        if (tracked.getAgeBucket() != UNKNOWN_AGE) ageCounts.decrementAndGet(tracked.getAgeBucket());
+    }
+
+    private static Tracked track(Task task, long now) {
+        if (task.isDeleted()) return Tracked.DELETED;
+        final long createdMillis = parseTime(task.getCreationTime());
+        return new Tracked(TaskStatus.of(task.getStatus()).ordinal(), false, createdMillis,
+                createdMillis < 0 ? UNKNOWN_AGE : ageBucket(createdMillis, now));
+    }
+
+    private static int ageBucket(long createdMillis, long now) {
+        final long age = now - createdMillis;
+        for (int i = 0; i < AGE_LIMITS.size(); i++)
+            if (age < AGE_LIMITS.get(i).toMillis()) return i;
+        return AGE_LIMITS.size();
+    }
+
+    private static long parseTime(String time) {
+        if (time == null) return -1;
+        try {
+            return LocalDateTime.parse(time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * What the counters hold for one task, so that its old values can be taken out when it changes.
+     * Every deleted task shares {@link #DELETED}.
+     */
+    @Value
+    private static class Tracked {
+        static final Tracked DELETED = new Tracked(TaskStatus.UNKNOWN.ordinal(), true, -1, UNKNOWN_AGE);
+
+        int status;
+        boolean deleted;
+        long createdMillis;
+        int ageBucket;
+    }
+}
@@ -0,0 +1,105 @@
+package com.pagejump.scrumboardwebclient.cache;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheTest {
+
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        ScrumBoardClientProperties properties = new ScrumBoardClientProperties();
+        properties.getCache().setEnabled(true);
+        properties.getCache().setMaxSize(2);
+        properties.getCache().setTtl(Duration.ofMinutes(1));
+        taskCache = new TaskCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void store_WithoutETag_UsesUpdateTimeAsValidator() {
+        taskCache.store("1", task("1"), null, -1, taskCache.generation("1"));
+
+        TaskCache.Entry entry = taskCache.lookup("1");
+
+        assertNotNull(entry);
+        assertTrue(entry.isFresh());
+        assertNull(entry.getETag());
+        assertTrue(entry.getLastModified() > 0);
+    }
+
+    @Test
+    void store_OverMaxSize_EvictsLeastRecentlyUsed() {
+        taskCache.store("1", task("1"), "\"a\"", -1, taskCache.generation("1"));
+        taskCache.store("2", task("2"), "\"b\"", -1, taskCache.generation("2"));
+        taskCache.lookup("1");
+        taskCache.store("3", task("3"), "\"c\"", -1, taskCache.generation("3"));
+
+        assertNotNull(taskCache.lookup("1"));
+        assertNull(taskCache.lookup("2"));
+        assertEquals(1, taskCache.getEvictionCount());
+    }
+
+    @Test
+    void revalidated_CountsAsHit() {
+        taskCache.store("1", task("1"), "\"a\"", -1, taskCache.generation("1"));
+
+        Task task = taskCache.revalidated("1", taskCache.lookup("1"), taskCache.generation("1"));
+
+        assertEquals("1", task.getId());
+        assertEquals(1, taskCache.getHitCount());
+        assertEquals(1, taskCache.getRevalidationCount());
+    }
+
+    @Test
+    void invalidate_RemovesEntry() {
+        taskCache.store("1", task("1"), "\"a\"", -1, taskCache.generation("1"));
+        taskCache.invalidate("1");
+
+        assertNull(taskCache.lookup("1"));
+    }
+
+    @Test
+    void store_InvalidatedWhileDownloading_NotStored() {
+        long generation = taskCache.generation("1");
+        taskCache.invalidate("1");
+
+        taskCache.store("1", task("1"), "\"a\"", -1, generation);
+
+        assertNull(taskCache.lookup("1"));
+    }
+
+    @Test
+    void revalidated_InvalidatedWhileRevalidating_TaskReturnedButNotKept() {
+        taskCache.store("1", task("1"), "\"a\"", -1, taskCache.generation("1"));
+        TaskCache.Entry entry = taskCache.lookup("1");
+        long generation = taskCache.generation("1");
+        taskCache.invalidate("1");
+
+        assertEquals("1", taskCache.revalidated("1", entry, generation).getId());
+        assertNull(taskCache.lookup("1"));
+    }
+
+    @Test
+    void lookup_CallerChangesTask_CachedTaskUnchanged() {
+        Task stored = task("1");
+        taskCache.store("1", stored, "\"a\"", -1, taskCache.generation("1"));
+        stored.setStatus("DONE");
+
+        taskCache.lookup("1").getTask().setStatus("DONE");
+
+        assertEquals("TODO", taskCache.lookup("1").getTask().getStatus());
+    }
+
+    private Task task(String id) {
+        return new Task(id, "Title " + id, "Description " + id, "TODO", false,
+                "2023-03-01T10:00:00", "2023-03-01T10:00:00");
+    }
+}
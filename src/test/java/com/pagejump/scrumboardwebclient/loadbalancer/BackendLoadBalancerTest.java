@@ -0,0 +1,68 @@
+package com.pagejump.scrumboardwebclient.loadbalancer;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackendLoadBalancerTest {
+
+    private final MockWebServer first = new MockWebServer();
+    private final MockWebServer second = new MockWebServer();
+    private SimpleMeterRegistry meterRegistry;
+    private BackendLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        final var healthy = new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(request.getPath().equals("/actuator/health") ? 200 : 404);
+            }
+        };
+        first.setDispatcher(healthy);
+        second.setDispatcher(healthy);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (loadBalancer != null) loadBalancer.stop();
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    void start_HealthCheckPath_RequestedOnBackendOriginAndKeptAvailable() throws InterruptedException {
+        final var properties = new ScrumBoardClientProperties();
+        properties.setBackendUrls(List.of(first.url("/api/v1/tasks").toString(), second.url("/api/v1/tasks").toString()));
+        properties.getLoadBalancing().setHealthCheckInterval(Duration.ofMillis(20));
+        properties.getLoadBalancing().setHealthCheckPath("/actuator/health");
+        properties.getLoadBalancing().setEjectionTime(Duration.ofMinutes(1));
+        loadBalancer = new BackendLoadBalancer(WebClient.create(), properties, meterRegistry);
+
+        loadBalancer.start();
+
+        for (int i = 0; i < 3; i++) {
+            final var request = first.takeRequest(5, TimeUnit.SECONDS);
+            assertNotNull(request);
+            assertEquals("HEAD", request.getMethod());
+            assertEquals("/actuator/health", request.getPath());
+        }
+        meterRegistry.get("scrumboard.client.backend.available").gauges()
+                .forEach(available -> assertEquals(1, available.value()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.pagejump.scrumboardwebclient.outbox;
+
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover_AfterAppends_SameEntriesInOrder() {
+        try (OutboxJournal journal = new OutboxJournal(directory, 4096)) {
+            journal.recover();
+            journal.append(OutboxEntry.create("local-1", new TaskRequestDTO("Title", null, "TODO")));
+            journal.append(OutboxEntry.mapped("local-1", "21ce319b-0eae-41d5-b25a-016122d5798b"));
+            journal.append(OutboxEntry.ack(1));
+        }
+
+        List<OutboxEntry> entries = new OutboxJournal(directory, 4096).recover();
+
+        assertEquals(3, entries.size());
+        assertEquals(OutboxEntry.Type.CREATE, entries.get(0).getType());
+        assertEquals(new TaskRequestDTO("Title", null, "TODO"), entries.get(0).getRequest());
+        assertEquals("21ce319b-0eae-41d5-b25a-016122d5798b", entries.get(1).getServerId());
+        assertEquals(1, entries.get(2).getAckedSequence());
+        assertEquals(3, entries.get(2).getSequence());
+    }
+
+    @Test
+    void deleteSegmentsBefore_AckedSegments_OnlyLiveSegmentsKept() {
+        OutboxJournal journal = new OutboxJournal(directory, 128);
+        journal.recover();
+        for (int i = 0; i < 10; i++) journal.append(OutboxEntry.delete("task-" + i));
+        int segments = journal.segmentCount();
+
+        journal.deleteSegmentsBefore(10);
+        journal.close();
+
+        assertTrue(segments > 1);
+        assertEquals(1, journal.segmentCount());
+        assertEquals(10, new OutboxJournal(directory, 128).recover().stream()
+                .mapToLong(OutboxEntry::getSequence).max().orElse(0));
+    }
+}
@@ -0,0 +1,188 @@
+package com.pagejump.scrumboardwebclient.outbox;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.exception.TaskNotFoundException;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the outbox by hand: appends through the public API, then nextBatch, sent and failed as the drainer would,
+ * without starting the flush and drain loops. A restart is a second outbox on the same directory.
+ */
+class TaskOutboxTest {
+    private static final String SERVER_ID = "21ce319b-0eae-41d5-b25a-016122d5798b";
+    private static final TaskRequestDTO FIRST = new TaskRequestDTO("Title", "First", "TODO");
+    private static final TaskRequestDTO SECOND = new TaskRequestDTO("Title", "Second", "DONE");
+
+    @TempDir
+    Path directory;
+
+    private ScrumBoardClientProperties properties;
+    private ReactiveScrumBoardService service;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScrumBoardClientProperties();
+        properties.getOutbox().setDirectory(directory.toString());
+        service = mock(ReactiveScrumBoardService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.stop();
+    }
+
+    @Test
+    void nextBatch_UpdateFollowedByUpdate_OnlyLastSent() {
+        outbox.updateTask(SERVER_ID, FIRST).subscribe();
+        outbox.updateTask(SERVER_ID, SECOND).subscribe();
+
+        List<Map.Entry<String, OutboxEntry>> batch = outbox.nextBatch();
+
+        assertEquals(1, batch.size());
+        assertEquals(SECOND, batch.get(0).getValue().getRequest());
+        assertEquals(1, outbox.pendingCount());
+    }
+
+    @Test
+    void nextBatch_CreatedThenDeletedBeforeSent_NothingSent() {
+        String localId = create(FIRST);
+        outbox.updateTask(localId, SECOND).subscribe();
+        outbox.deleteTask(localId).subscribe();
+
+        assertTrue(outbox.nextBatch().isEmpty());
+        assertEquals(0, outbox.pendingCount());
+    }
+
+    @Test
+    void sent_CreateWithServerId_LaterMutationsMovedToServerId() {
+        String localId = create(FIRST);
+        outbox.updateTask(localId, SECOND).subscribe();
+
+        var create = outbox.nextBatch().get(0);
+        assertEquals(localId, create.getKey());
+        assertTrue(outbox.nextBatch().isEmpty());
+        outbox.sent(create.getKey(), create.getValue(), SERVER_ID);
+
+        assertEquals(SERVER_ID, outbox.resolveTaskId(localId));
+        var update = outbox.nextBatch().get(0);
+        assertEquals(SERVER_ID, update.getKey());
+        assertEquals(OutboxEntry.Type.UPDATE, update.getValue().getType());
+    }
+
+    @Test
+    void failed_TransientError_KeptAndHeldBackUntilRetry() {
+        outbox.updateTask(SERVER_ID, FIRST).subscribe();
+        var update = outbox.nextBatch().get(0);
+
+        outbox.failed(update.getKey(), update.getValue(),
+                ScrumBoardServerException.withoutStackTrace(ScrumBoardServerException.NOT_RESPONDING));
+
+        assertTrue(outbox.nextBatch().isEmpty());
+        assertEquals(1, outbox.pendingCount());
+    }
+
+    @Test
+    void failed_RejectedByServer_DroppedAndCounted() {
+        outbox.updateTask(SERVER_ID, FIRST).subscribe();
+        var update = outbox.nextBatch().get(0);
+
+        outbox.failed(update.getKey(), update.getValue(), TaskNotFoundException.withoutStackTrace("Not found"));
+
+        assertEquals(0, outbox.pendingCount());
+        assertTrue(outbox.nextBatch().isEmpty());
+        assertEquals(1, meterRegistry.get("scrumboard.client.outbox.dropped").counter().count());
+    }
+
+    @Test
+    void drain_AllApplied_OnlyCurrentSegmentKept() throws IOException {
+        outbox.stop();
+        properties.getOutbox().setSegmentSize(DataSize.ofBytes(256));
+        outbox = open();
+        when(service.updateTask(any(), any())).thenReturn(Mono.just(new Task()));
+        for (int i = 0; i < 10; i++) outbox.updateTask("task-" + i, FIRST).subscribe();
+        assertTrue(segmentCount() > 1);
+
+        outbox.drain().block(Duration.ofSeconds(5));
+
+        assertEquals(0, outbox.pendingCount());
+        assertEquals(1, segmentCount());
+    }
+
+    @Test
+    void recover_CrashBeforeMapped_CreateSentAgainThenUpdate() {
+        String localId = create(FIRST);
+        outbox.updateTask(localId, SECOND).subscribe();
+        outbox.nextBatch();
+        outbox.stop();
+
+        outbox = open();
+
+        assertEquals(2, outbox.pendingCount());
+        var create = outbox.nextBatch().get(0);
+        assertEquals(OutboxEntry.Type.CREATE, create.getValue().getType());
+        outbox.sent(create.getKey(), create.getValue(), SERVER_ID);
+        assertEquals(SERVER_ID, outbox.nextBatch().get(0).getKey());
+    }
+
+    @Test
+    void recover_CrashAfterMapped_OnlyUpdateLeftUnderServerId() {
+        String localId = create(FIRST);
+        outbox.updateTask(localId, SECOND).subscribe();
+        var create = outbox.nextBatch().get(0);
+        outbox.sent(create.getKey(), create.getValue(), SERVER_ID);
+        outbox.stop();
+
+        outbox = open();
+
+        assertEquals(1, outbox.pendingCount());
+        assertEquals(SERVER_ID, outbox.resolveTaskId(localId));
+        var update = outbox.nextBatch().get(0);
+        assertEquals(SERVER_ID, update.getKey());
+        assertEquals(SECOND, update.getValue().getRequest());
+    }
+
+    private String create(TaskRequestDTO request) {
+        var localId = outbox.createTask(request).toFuture();
+        outbox.flush();
+        return localId.join();
+    }
+
+    private TaskOutbox open() {
+        var opened = new TaskOutbox(service, properties, meterRegistry);
+        opened.recover();
+        return opened;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.pagejump.scrumboardwebclient.replica;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_AfterWrite_SameTasksAndWatermark() throws IOException {
+        Path file = directory.resolve("board.snapshot");
+        List<Task> tasks = List.of(
+                new Task("1", "Title", null, "TODO", false, "2023-03-01T08:00:00", "2023-03-01T10:00:00"),
+                new Task("2", "Título", "Description", "DONE", false, null, null));
+        LocalDateTime watermark = LocalDateTime.parse("2023-03-01T10:00:00");
+
+        BoardSnapshot.write(file, tasks, watermark);
+        BoardSnapshot.Contents contents = BoardSnapshot.read(file);
+
+        assertEquals(tasks, contents.getTasks());
+        assertEquals(watermark, contents.getWatermark());
+    }
+
+    @Test
+    void read_DamagedFile_Null() throws IOException {
+        Path file = directory.resolve("board.snapshot");
+        BoardSnapshot.write(file, List.of(new Task("1", "Title", null, "TODO", false, null, null)), null);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[12] ^= 1;
+        Files.write(file, bytes);
+
+        assertNull(BoardSnapshot.read(file));
+    }
+}
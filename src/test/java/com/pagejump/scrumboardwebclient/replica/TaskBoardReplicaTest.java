@@ -0,0 +1,143 @@
+package com.pagejump.scrumboardwebclient.replica;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies changes directly, without starting the refresh loop. Refreshes list from a mocked service that passes the
+ * listed tasks to the replica the way the notifier does.
+ */
+class TaskBoardReplicaTest {
+
+    private TaskBoardReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new TaskBoardReplica(null, new TaskChangeNotifier(), new ScrumBoardClientProperties());
+    }
+
+    @Test
+    void onTaskSaved_OlderUpdateTime_Ignored() {
+        replica.onTaskSaved(task("1", "DONE", false, "2023-03-01T10:00:00"));
+        replica.onTaskSaved(task("1", "TODO", false, "2023-03-01T09:00:00"));
+
+        assertEquals("DONE", replica.get("1").getStatus());
+    }
+
+    @Test
+    void onTaskSaved_DeletedTask_RemovedAndNotBroughtBack() {
+        replica.onTaskSaved(task("1", "TODO", false, "2023-03-01T10:00:00"));
+        replica.onTaskSaved(task("1", "TODO", true, "2023-03-01T11:00:00"));
+        replica.onTaskSaved(task("1", "TODO", false, "2023-03-01T10:00:00"));
+
+        assertNull(replica.get("1"));
+        assertTrue(replica.snapshot().isEmpty());
+    }
+
+    @Test
+    void addListener_RepeatedTask_NotifiedOnce() {
+        List<Task> changes = new ArrayList<>();
+        replica.addListener((previous, current) -> changes.add(current));
+
+        replica.onTaskSaved(task("1", "TODO", false, "2023-03-01T10:00:00"));
+        replica.onTaskSaved(task("1", "TODO", false, "2023-03-01T10:00:00"));
+        replica.onTaskDeleted("1");
+
+        assertEquals(2, changes.size());
+        assertNull(changes.get(1));
+    }
+
+    @Test
+    void refresh_TaskMissingFromListing_Removed() {
+        var service = mock(ReactiveScrumBoardService.class);
+        replica = new TaskBoardReplica(service, new TaskChangeNotifier(), new ScrumBoardClientProperties());
+        listing(service, task("1", "TODO", false, "2023-03-01T10:00:00"), task("2", "TODO", false, "2023-03-01T10:00:00"));
+        replica.refresh().block();
+
+        listing(service, task("1", "TODO", false, "2023-03-01T10:00:00"));
+        replica.refresh().block();
+
+        assertEquals(1, replica.size());
+        assertNull(replica.get("2"));
+    }
+
+    @Test
+    void refresh_TaskSavedWhileListing_Kept() {
+        var service = mock(ReactiveScrumBoardService.class);
+        replica = new TaskBoardReplica(service, new TaskChangeNotifier(), new ScrumBoardClientProperties());
+        when(service.listTasks(any())).thenReturn(Flux.just(task("1", "TODO", false, "2023-03-01T10:00:00"))
+                .doOnNext(replica::onTaskSaved)
+                .doOnComplete(() -> replica.onTaskSaved(task("2", "TODO", false, "2023-03-01T10:00:00"))));
+
+        replica.refresh().block();
+
+        assertEquals(2, replica.size());
+    }
+
+    @Test
+    void restoreSnapshot_Incremental_ChangesSinceWatermarkThenRemovalsAtFullLoad(@TempDir Path directory)
+            throws IOException {
+        var snapshotFile = directory.resolve("board.snapshot");
+        BoardSnapshot.write(snapshotFile, List.of(
+                        task("1", "TODO", false, "2023-03-01T10:00:00"),
+                        task("2", "TODO", false, "2023-03-01T10:00:00"),
+                        task("3", "TODO", false, "2023-03-01T10:00:00")),
+                LocalDateTime.parse("2023-03-01T10:00:00"));
+        var properties = new ScrumBoardClientProperties();
+        properties.getReplica().setSnapshotFile(snapshotFile.toString());
+        properties.getReplica().setIncremental(true);
+        var service = mock(ReactiveScrumBoardService.class);
+        replica = new TaskBoardReplica(service, new TaskChangeNotifier(), properties);
+
+        replica.restoreSnapshot();
+        assertTrue(replica.isLoaded());
+        assertEquals(3, replica.size());
+
+        listing(service, task("2", "TODO", true, "2023-03-01T11:00:00"));
+        replica.refresh().block();
+
+        var query = ArgumentCaptor.forClass(TaskQuery.class);
+        verify(service).listTasks(query.capture());
+        assertEquals(LocalDateTime.parse("2023-03-01T10:00:00").minus(properties.getReplica().getOverlap()),
+                query.getValue().getUpdatedSince());
+        assertEquals(2, replica.size());
+        assertNull(replica.get("2"));
+
+        properties.getReplica().setFullLoadInterval(Duration.ZERO);
+        listing(service, task("1", "TODO", false, "2023-03-01T10:00:00"));
+        replica.refresh().block();
+
+        assertEquals(1, replica.size());
+        assertNull(replica.get("3"));
+    }
+
+    private void listing(ReactiveScrumBoardService service, Task... tasks) {
+        when(service.listTasks(any())).thenReturn(Flux.just(tasks).doOnNext(replica::onTaskSaved));
+    }
+
+    private static Task task(String id, String status, boolean deleted, String updateTime) {
+        return new Task(id, "Title", "Description", status, deleted, "2023-03-01T08:00:00", updateTime);
+    }
+}
@@ -0,0 +1,88 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.exception.ConcurrencyLimitExceededException;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private ScrumBoardClientProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScrumBoardClientProperties();
+        properties.getLimiter().setEnabled(true);
+        properties.getLimiter().setInitialLimit(10);
+    }
+
+    @Test
+    void limit_OverLimitWithFullQueue_RejectedAtOnce() {
+        properties.getLimiter().setInitialLimit(1);
+        properties.getLimiter().setMaxQueue(0);
+        var limiter = limiter();
+        limiter.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("task")))
+                .expectError(ConcurrencyLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_TransientFailure_LimitLoweredAndSlotReleased() {
+        var limiter = limiter();
+
+        StepVerifier.create(limiter.limit(Mono.error(ScrumBoardServerException.withoutStackTrace("down"))))
+                .expectError(ScrumBoardServerException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(9, limiter.getLimit(), 0.001);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_FlatLatencyWithLimitInUse_LimitRaised() {
+        properties.getLimiter().setLatencyTolerance(1000);
+        var limiter = limiter();
+        List<Sinks.One<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Sinks.One<String> call = Sinks.one();
+            calls.add(call);
+            limiter.limit(call.asMono()).subscribe();
+        }
+
+        calls.forEach(call -> call.tryEmitValue("task"));
+
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_SlowerOperationThanFastestOne_NotTakenAsCongestion() {
+        var limiter = limiter();
+
+        limiter.limit(Mono.just("task")).contextWrite(ScrumBoardOperation.GET::putInto).block();
+        limiter.limit(Mono.delay(Duration.ofMillis(50)).thenReturn("tasks"))
+                .contextWrite(ScrumBoardOperation.LIST::putInto)
+                .block();
+
+        assertEquals(10, limiter.getLimit(), 0.001);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter() {
+        return new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    }
+}
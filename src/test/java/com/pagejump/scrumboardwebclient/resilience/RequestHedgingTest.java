@@ -0,0 +1,87 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The first request answers after a second and a hedge after 100ms, in virtual time.
+ */
+class RequestHedgingTest {
+
+    private ScrumBoardClientProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger requests;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ScrumBoardClientProperties();
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setUseObservedP95(false);
+        properties.getHedging().setDelay(Duration.ofMillis(50));
+        properties.getHedging().setMaxHedgePercent(100);
+        meterRegistry = new SimpleMeterRegistry();
+        requests = new AtomicInteger();
+    }
+
+    @Test
+    void hedge_Disabled_CallReturnedAsIs() {
+        properties.getHedging().setEnabled(false);
+        var call = Mono.just("task");
+
+        assertSame(call, hedging().hedge(ScrumBoardOperation.GET, call));
+    }
+
+    @Test
+    void hedge_FirstSlowerThanDelay_HedgeAnswersFirst() {
+        var hedging = hedging();
+
+        StepVerifier.withVirtualTime(() -> hedging.hedge(ScrumBoardOperation.GET, call()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(150))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(2, requests.get());
+        assertEquals(1, meterRegistry.get("scrumboard.client.hedges").counter().count());
+    }
+
+    @Test
+    void hedge_NoTokenLeft_FirstRequestWaitedFor() {
+        properties.getHedging().setMaxHedgePercent(50);
+        var hedging = hedging();
+
+        StepVerifier.withVirtualTime(() -> hedging.hedge(ScrumBoardOperation.GET, call()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(1))
+                .expectNext("first")
+                .verifyComplete();
+        assertEquals(1, requests.getAndSet(0));
+
+        StepVerifier.withVirtualTime(() -> hedging.hedge(ScrumBoardOperation.GET, call()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(150))
+                .expectNext("hedge")
+                .verifyComplete();
+        assertEquals(2, requests.get());
+    }
+
+    private Mono<String> call() {
+        return Mono.defer(() -> requests.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(1)).thenReturn("first")
+                : Mono.delay(Duration.ofMillis(100)).thenReturn("hedge"));
+    }
+
+    private RequestHedging hedging() {
+        return new RequestHedging(properties, meterRegistry);
+    }
+}
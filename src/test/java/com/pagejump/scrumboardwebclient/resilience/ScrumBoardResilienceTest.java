@@ -0,0 +1,54 @@
+package com.pagejump.scrumboardwebclient.resilience;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.service.ScrumBoardOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrumBoardResilienceTest {
+
+    private ScrumBoardResilience resilience;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ScrumBoardClientProperties();
+        properties.getResilience().getRetry().setMinBackoff(Duration.ofMillis(1));
+        properties.getResilience().getRetry().setMaxBackoff(Duration.ofMillis(1));
+        resilience = new ScrumBoardResilience(properties);
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    void decorate_GetFailsTransiently_Retried() {
+        StepVerifier.create(resilience.decorate(ScrumBoardOperation.GET, failingCall()))
+                .expectError(ScrumBoardServerException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void decorate_DeleteFailsTransiently_NotRetried() {
+        StepVerifier.create(resilience.decorate(ScrumBoardOperation.DELETE, failingCall()))
+                .expectError(ScrumBoardServerException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, attempts.get());
+    }
+
+    private Mono<String> failingCall() {
+        return Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(ScrumBoardServerException.withoutStackTrace(ScrumBoardServerException.NOT_RESPONDING));
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.pagejump.scrumboardwebclient.search;
+
+import com.pagejump.scrumboardwebclient.config.ScrumBoardClientProperties;
+import com.pagejump.scrumboardwebclient.dto.TaskSearchQuery;
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.model.TaskStatus;
+import com.pagejump.scrumboardwebclient.service.ReactiveScrumBoardService;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Indexes tasks directly, without starting the refresh loop. Refreshes list from a mocked service that passes the
+ * listed tasks to the index the way the notifier does.
+ */
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(null, new TaskChangeNotifier(), new ScrumBoardClientProperties());
+        index.onTaskSaved(task("1", "Fix login bug", "The login page crashes", "TODO"));
+        index.onTaskSaved(task("2", "Write docs", "Document the login flow", "DONE"));
+        index.onTaskSaved(task("3", "Logout", "Logging out fails", "TODO"));
+    }
+
+    @Test
+    void search_Words_AllRequiredAndTitleRankedFirst() {
+        assertEquals(List.of("1", "2"), index.search(query("LOGIN", null, false)));
+        assertEquals(List.of("1"), index.search(query("login, crashes", null, false)));
+    }
+
+    @Test
+    void search_PrefixAndStatus_FilteredByStatus() {
+        assertEquals(3, index.search(query("log", null, true)).size());
+        assertEquals(List.of("2"), index.search(query("log", TaskStatus.DONE, true)));
+        assertTrue(index.search(query("log", null, false)).isEmpty());
+    }
+
+    @Test
+    void onTaskSaved_ChangedAndDeletedTasks_IndexFollows() {
+        index.onTaskSaved(task("1", "Fix signup bug", "Crashes", "TODO"));
+        index.onTaskDeleted("2");
+        index.onTaskSaved(new Task("3", "Logout", "Logging out fails", "TODO", true, null, null));
+
+        assertTrue(index.search(query("login", null, false)).isEmpty());
+        assertEquals(List.of("1"), index.search(query("signup", null, false)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onTaskSaved_TitleChangedToSameHashCode_Reindexed() {
+        index.onTaskSaved(task("4", "Aa", "Same hash", "TODO"));
+        index.onTaskSaved(task("4", "BB", "Same hash", "DONE"));
+
+        assertTrue(index.search(query("aa", null, false)).isEmpty());
+        assertEquals(List.of("4"), index.search(query("bb", TaskStatus.DONE, false)));
+    }
+
+    @Test
+    void refresh_TaskGoneFromListing_Removed() {
+        var service = mock(ReactiveScrumBoardService.class);
+        index = new TaskSearchIndex(service, new TaskChangeNotifier(), new ScrumBoardClientProperties());
+        when(service.listTasks(any())).thenReturn(Flux.just(
+                        task("1", "Fix login bug", "The login page crashes", "TODO"),
+                        task("2", "Write docs", "Document the login flow", "DONE"))
+                .doOnNext(index::onTaskSaved));
+        index.refresh().block();
+
+        when(service.listTasks(any())).thenReturn(Flux.just(task("1", "Fix login bug", "The login page crashes", "TODO"))
+                .doOnNext(index::onTaskSaved));
+        index.refresh().block();
+
+        assertTrue(index.isLoaded());
+        assertEquals(List.of("1"), index.search(query("login", null, false)));
+        assertEquals(1, index.size());
+    }
+
+    private static TaskSearchQuery query(String text, TaskStatus status, boolean prefix) {
+        return TaskSearchQuery.builder().text(text).status(status).prefix(prefix).build();
+    }
+
+    private static Task task(String id, String title, String description, String status) {
+        return new Task(id, title, description, status, false, "2023-03-01T08:00:00", "2023-03-01T08:00:00");
+    }
+}
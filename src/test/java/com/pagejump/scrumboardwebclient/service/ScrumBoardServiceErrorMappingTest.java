@@ -0,0 +1,122 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.dto.TaskRequestDTO;
+import com.pagejump.scrumboardwebclient.exception.InvalidTaskRequestException;
+import com.pagejump.scrumboardwebclient.exception.ScrumBoardServerException;
+import com.pagejump.scrumboardwebclient.exception.TaskAlreadyDeletedException;
+import com.pagejump.scrumboardwebclient.exception.TaskNotFoundException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the services against MockWebServer instead of a live SCRUM Board Server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ScrumBoardServiceErrorMappingTest {
+    private static final String TASK_ID = "21ce319b-0eae-41d5-b25a-016122d5798b";
+    private static final String ERROR_BODY = "{\"message\":\"error\"}";
+
+    private static final MockWebServer mockServer = new MockWebServer();
+
+    @Autowired
+    private ScrumBoardService scrumBoardService;
+
+    @DynamicPropertySource
+    static void scrumBoardProperties(DynamicPropertyRegistry registry) {
+        registry.add("scrumboard.client.base-url", () -> mockServer.url("/api/v1/tasks").toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    @Test
+    void getTaskById_NotFound_ExceptionWithBodyAsMessage() {
+        mockServer.enqueue(errorResponse(404));
+
+        Exception e = assertThrows(TaskNotFoundException.class,
+                () -> scrumBoardService.getTaskById(TASK_ID));
+
+        assertEquals(ERROR_BODY, e.getMessage());
+        assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    void findTaskById_NotFound_EmptyOptional() {
+        mockServer.enqueue(errorResponse(404));
+
+        assertTrue(scrumBoardService.findTaskById(TASK_ID).isEmpty());
+    }
+
+    @Test
+    void updateTaskErrorMap_UnprocessableEntity_ExceptionThrown() {
+        mockServer.enqueue(errorResponse(422));
+
+        assertThrows(InvalidTaskRequestException.class,
+                () -> scrumBoardService.updateTaskErrorMap(TASK_ID, new TaskRequestDTO(null, "Something", "TODO")));
+    }
+
+    @Test
+    void deleteTask_BadRequest_ExceptionThrown() {
+        mockServer.enqueue(errorResponse(400));
+
+        assertThrows(TaskAlreadyDeletedException.class, () -> scrumBoardService.deleteTask(TASK_ID));
+    }
+
+    @Test
+    void createTask_ServerError_ExceptionThrown() {
+        mockServer.enqueue(errorResponse(500));
+
+        Exception e = assertThrows(ScrumBoardServerException.class,
+                () -> scrumBoardService.createTask(new TaskRequestDTO("Title", "Description", "TODO")));
+
+        assertEquals(ScrumBoardServerException.NOT_RESPONDING, e.getMessage());
+    }
+
+    @Test
+    void getTaskById_UnmappedClientError_RuntimeExceptionWithStatus() {
+        mockServer.enqueue(errorResponse(403));
+
+        Exception e = assertThrows(RuntimeException.class, () -> scrumBoardService.getTaskById(TASK_ID));
+
+        assertEquals(RuntimeException.class, e.getClass());
+        assertTrue(e.getMessage().startsWith("403 Forbidden"));
+    }
+
+    @Test
+    void getAllTasksErrorMap_ConcurrentCalls_OneRequest() {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("[]")
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        int requestsBefore = mockServer.getRequestCount();
+
+        var first = CompletableFuture.supplyAsync(scrumBoardService::getAllTasksErrorMap);
+        var second = CompletableFuture.supplyAsync(scrumBoardService::getAllTasksErrorMap);
+
+        assertEquals(List.of(), first.join());
+        assertEquals(List.of(), second.join());
+        assertEquals(1, mockServer.getRequestCount() - requestsBefore);
+    }
+
+    private static MockResponse errorResponse(int status) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json")
+                .setBody(ERROR_BODY);
+    }
+}
@@ -0,0 +1,74 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.dto.TaskPatch;
+import com.pagejump.scrumboardwebclient.exception.TaskPreconditionFailedException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partial and conditional updates against MockWebServer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ScrumBoardServicePatchTest {
+    private static final String TASK_ID = "21ce319b-0eae-41d5-b25a-016122d5798b";
+
+    private static final MockWebServer mockServer = new MockWebServer();
+
+    @Autowired
+    private ScrumBoardService scrumBoardService;
+
+    @DynamicPropertySource
+    static void scrumBoardProperties(DynamicPropertyRegistry registry) {
+        registry.add("scrumboard.client.base-url", () -> mockServer.url("/api/v1/tasks").toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    @Test
+    void updateStatus_OnlyStatusSent() throws InterruptedException {
+        mockServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"id\":\"" + TASK_ID + "\",\"title\":\"Title\",\"description\":\"Description\","
+                        + "\"status\":\"DONE\",\"deleted\":false,\"creationTime\":null,\"updateTime\":null}"));
+
+        var task = scrumBoardService.updateStatus(TASK_ID, "DONE");
+
+        RecordedRequest request = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("PATCH", request.getMethod());
+        assertEquals("{\"status\":\"DONE\"}", request.getBody().readUtf8());
+        assertNull(request.getHeader("If-Unmodified-Since"));
+        assertEquals("DONE", task.getStatus());
+    }
+
+    @Test
+    void patchTask_TaskChangedSinceRead_PreconditionFailed() throws InterruptedException {
+        mockServer.enqueue(new MockResponse().setResponseCode(412).setBody(TaskPreconditionFailedException.TASK_CHANGED));
+        var patch = TaskPatch.builder()
+                .title("New title")
+                .expectedETag("\"3\"")
+                .expectedUpdateTime("2023-03-01T10:00:00")
+                .build();
+
+        assertThrows(TaskPreconditionFailedException.class, () -> scrumBoardService.patchTask(TASK_ID, patch));
+
+        RecordedRequest request = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("\"3\"", request.getHeader("If-Match"));
+        assertNotNull(request.getHeader("If-Unmodified-Since"));
+        assertEquals("{\"title\":\"New title\"}", request.getBody().readUtf8());
+    }
+}
@@ -0,0 +1,110 @@
+package com.pagejump.scrumboardwebclient.service;
+
+import com.pagejump.scrumboardwebclient.dto.TaskQuery;
+import com.pagejump.scrumboardwebclient.model.Task;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Paged listing against MockWebServer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ScrumBoardServiceTaskQueryTest {
+    private static final MockWebServer mockServer = new MockWebServer();
+
+    @Autowired
+    private ScrumBoardService scrumBoardService;
+
+    @DynamicPropertySource
+    static void scrumBoardProperties(DynamicPropertyRegistry registry) {
+        registry.add("scrumboard.client.base-url", () -> mockServer.url("/api/v1/tasks").toString());
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    @Test
+    void getTaskPage_StatusFilter_QueryParametersSentAndFilterReapplied() throws InterruptedException {
+        mockServer.enqueue(tasksResponse(
+                task("1", "TODO", false),
+                task("2", "DONE", false),
+                task("3", "TODO", true)).setHeader("X-Page", "0"));
+
+        var page = scrumBoardService.getTaskPage(TaskQuery.builder().status("TODO").size(3).build());
+
+        RecordedRequest request = mockServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/api/v1/tasks?page=0&size=3&status=TODO", request.getPath());
+        assertEquals(List.of("1"), page.getItems().stream().map(Task::getId).toList());
+        assertFalse(page.isLastPage());
+    }
+
+    @Test
+    void streamTasks_TwoPages_AllTasksInOrder() throws InterruptedException {
+        mockServer.enqueue(tasksResponse(task("1", "TODO", false), task("2", "TODO", false)).setHeader("X-Page", "0"));
+        mockServer.enqueue(tasksResponse(task("3", "TODO", false)).setHeader("X-Page", "1"));
+
+        var ids = scrumBoardService.streamTasks(TaskQuery.builder().size(2).build())
+                .map(Task::getId)
+                .toList();
+
+        assertEquals(List.of("1", "2", "3"), ids);
+        assertEquals("/api/v1/tasks?page=0&size=2", mockServer.takeRequest(1, TimeUnit.SECONDS).getPath());
+        assertEquals("/api/v1/tasks?page=1&size=2", mockServer.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    @Test
+    void streamTasks_ServerIgnoresPagingAndBoardSizeIsPageSize_ListedOnce() throws InterruptedException {
+        mockServer.enqueue(tasksResponse(task("1", "TODO", false), task("2", "TODO", false)));
+        final int requestsBefore = mockServer.getRequestCount();
+
+        var ids = scrumBoardService.streamTasks(TaskQuery.builder().size(2).build())
+                .map(Task::getId)
+                .toList();
+
+        assertEquals(List.of("1", "2"), ids);
+        assertEquals(1, mockServer.getRequestCount() - requestsBefore);
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void streamTasks_PageRepeatsPreviousOne_ListingStops() throws InterruptedException {
+        mockServer.enqueue(tasksResponse(task("1", "TODO", false), task("2", "TODO", false)).setHeader("X-Page", "0"));
+        mockServer.enqueue(tasksResponse(task("1", "TODO", false), task("2", "TODO", false)).setHeader("X-Page", "1"));
+        final int requestsBefore = mockServer.getRequestCount();
+
+        var ids = scrumBoardService.streamTasks(TaskQuery.builder().size(2).build())
+                .map(Task::getId)
+                .toList();
+
+        assertEquals(List.of("1", "2"), ids);
+        assertEquals(2, mockServer.getRequestCount() - requestsBefore);
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+        mockServer.takeRequest(1, TimeUnit.SECONDS);
+    }
+
+    private static String task(String id, String status, boolean deleted) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Title\",\"description\":\"Description\",\"status\":\"" + status
+                + "\",\"deleted\":" + deleted + ",\"creationTime\":null,\"updateTime\":null}";
+    }
+
+    private static MockResponse tasksResponse(String... tasks) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("[" + String.join(",", tasks) + "]");
+    }
+}
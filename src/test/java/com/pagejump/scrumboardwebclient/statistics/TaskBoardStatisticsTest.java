@@ -0,0 +1,82 @@
+package com.pagejump.scrumboardwebclient.statistics;
+
+import com.pagejump.scrumboardwebclient.model.Task;
+import com.pagejump.scrumboardwebclient.model.TaskStatus;
+import com.pagejump.scrumboardwebclient.replica.TaskBoardReplica;
+import com.pagejump.scrumboardwebclient.service.TaskChangeNotifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskBoardStatisticsTest {
+
+    private TaskBoardStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TaskBoardStatistics(new TaskChangeNotifier(),
+                new StaticListableBeanFactory().getBeanProvider(TaskBoardReplica.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onTaskSaved_StatusChanged_TaskMovesColumn() {
+        statistics.onTaskSaved(task("1", "TODO", false));
+        statistics.onTaskSaved(task("2", "TODO", false));
+        statistics.onTaskSaved(task("1", "DONE", false));
+
+        assertEquals(1, statistics.count(TaskStatus.TODO));
+        assertEquals(1, statistics.count(TaskStatus.DONE));
+        assertEquals(2, statistics.countActive());
+        assertEquals(2, statistics.countByAge(0));
+    }
+
+    @Test
+    void onTaskDeleted_TrackedTask_CountedAsDeletedOnce() {
+        statistics.onTaskSaved(task("1", "TODO", false));
+        statistics.onTaskDeleted("1");
+        statistics.onTaskSaved(task("1", "TODO", true));
+
+        assertEquals(0, statistics.count(TaskStatus.TODO));
+        assertEquals(0, statistics.countActive());
+        assertEquals(1, statistics.countDeleted());
+        assertEquals(0, statistics.countByAge(0));
+    }
+
+    @Test
+    void onTaskChanged_TaskLeftReplica_NoLongerCounted() {
+        final var task = task("1", "TODO", false);
+        statistics.onTaskSaved(task);
+        statistics.onTaskSaved(task("2", "TODO", false));
+
+        statistics.onTaskChanged(task, null);
+
+        assertEquals(1, statistics.count(TaskStatus.TODO));
+        assertEquals(1, statistics.countActive());
+        assertEquals(1, statistics.countByAge(0));
+        assertEquals(0, statistics.countDeleted());
+    }
+
+    @Test
+    void onTaskSaved_DeletedTaskListedAgainLater_StillCountedOnce() {
+        statistics.onTaskSaved(task("1", "TODO", true));
+        statistics.onTaskDeleted("2");
+        statistics.refreshAges(System.currentTimeMillis() + Duration.ofDays(1).toMillis());
+
+        statistics.onTaskSaved(task("1", "TODO", true));
+        statistics.onTaskSaved(task("2", "DONE", true));
+
+        assertEquals(2, statistics.countDeleted());
+        assertEquals(0, statistics.countActive());
+    }
+
+    private static Task task(String id, String status, boolean deleted) {
+        String now = LocalDateTime.now().toString();
+        return new Task(id, "Title", "Description", status, deleted, now, now);
+    }
+}